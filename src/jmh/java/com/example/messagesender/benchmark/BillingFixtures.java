@@ -0,0 +1,171 @@
+package com.example.messagesender.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import com.example.messagesender.domain.billing.BillingSettlement;
+import com.example.messagesender.domain.code.Code;
+import com.example.messagesender.domain.message.MessageTemplate;
+import com.example.messagesender.repository.BillingSettlementRepository;
+
+/**
+ * 벤치마크 공용 데이터: 청구서 템플릿 + 항목 수별 정산 상세(detail_json)
+ */
+final class BillingFixtures {
+
+  static final String TARGET_MONTH = "2026-09";
+  static final Long USER_ID = 1L;
+
+  static final String BILLING_TITLE = "[LG U+] {userName}님, {targetMonth} 이용 요금 청구서 안내";
+
+  static final String BILLING_BODY = """
+      안녕하세요, {userName} 고객님.
+      {billingMonth} 통신 요금 청구 내역을 안내해 드립니다.
+
+      ■ 이용 금액: {usageAmount}원
+      ■ 할인 금액: -{discountAmount}원
+        - 약정 할인: -{contractDiscountPrice}원
+        - 결합 할인: -{bundledDiscountPrice}원
+        - 프리미어 할인: -{premierDiscountPrice}원
+      ■ 최종 청구 금액: {finalAmount}원
+
+      납부 기한 내에 납부하지 않으시면 연체 가산금이 부과될 수 있습니다.
+      자세한 내용은 고객센터(114) 또는 U+ 앱에서 확인해 주세요.
+      문의: {email} / {phone}
+      """;
+
+  // 커스텀 템플릿 variables_json (strict 옵션)
+  static final String BILLING_VARIABLES_JSON = """
+      {
+        "userName": {"type": "STRING", "required": true},
+        "targetMonth": {"type": "STRING", "required": true},
+        "billingMonth": {"type": "STRING", "required": true},
+        "usageAmount": {"type": "NUMBER", "required": true},
+        "discountAmount": {"type": "NUMBER", "required": true},
+        "contractDiscountPrice": {"type": "NUMBER", "required": false},
+        "bundledDiscountPrice": {"type": "NUMBER", "required": false},
+        "premierDiscountPrice": {"type": "NUMBER", "required": false},
+        "finalAmount": {"type": "NUMBER", "required": true},
+        "email": {"type": "STRING", "required": false},
+        "phone": {"type": "STRING", "required": false}
+      }
+      """;
+
+  private static final String[] SERVICE_NAMES = {
+      "5G 프리미어 에센셜", "U+ 인터넷 500M", "U+ tv 베이직", "데이터 쉐어링", "로밍 데이터 요금",
+      "부가서비스 - 통화연결음", "단말기 할부금", "U+ 스마트홈"
+  };
+
+  private BillingFixtures() {
+  }
+
+  /**
+   * 항목 수(itemCount)만큼 charged_histories 형태의 배열 생성
+   */
+  static String detailJson(int itemCount) {
+    StringBuilder sb = new StringBuilder(itemCount * 220);
+    sb.append('[');
+    for (int i = 0; i < itemCount; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      int charged = 3_300 + (i * 7_919) % 95_000;
+      sb.append("{\"serviceId\":").append(1000 + i)
+          .append(",\"serviceName\":\"").append(SERVICE_NAMES[i % SERVICE_NAMES.length])
+          .append("\",\"createdAt\":\"2026-09-").append(String.format("%02d", 1 + i % 28))
+          .append("T10:15:30\"")
+          .append(",\"chargedPrice\":").append(charged)
+          .append(",\"contractDiscountPrice\":").append(charged / 4)
+          .append(",\"bundledDiscountPrice\":").append(i % 3 == 0 ? charged / 10 : 0)
+          .append(",\"premierDiscountPrice\":").append(i % 5 == 0 ? 1_100 : 0)
+          .append('}');
+    }
+    sb.append(']');
+    return sb.toString();
+  }
+
+  static BillingSettlement settlement(String detailJson) {
+    return BillingSettlement.builder()
+        .batchRunId(1L)
+        .targetMonth(TARGET_MONTH)
+        .userId(USER_ID)
+        .detailJson(detailJson)
+        .finalAmount(89_000)
+        .build();
+  }
+
+  static MessageTemplate billingTemplate(String variablesJson) {
+    return MessageTemplate.builder()
+        .code("BILLING_DEFAULT")
+        .name("청구서 기본 템플릿")
+        .channelType(Code.builder().id(1L).code("EMAIL").name("이메일").build())
+        .purposeType(Code.builder().id(2L).code("BILLING").name("청구").build())
+        .title(BILLING_TITLE)
+        .body(BILLING_BODY)
+        .variablesJson(variablesJson)
+        .build();
+  }
+
+  static Map<String, String> billingValues() {
+    Map<String, String> values = new HashMap<>();
+    values.put("userName", "김유플");
+    values.put("email", "uplus.kim@example.com");
+    values.put("phone", "010-1234-5678");
+    values.put("targetMonth", TARGET_MONTH);
+    values.put("billingMonth", TARGET_MONTH);
+    values.put("usageAmount", "128,400");
+    values.put("discountAmount", "39,400");
+    values.put("contractDiscountPrice", "32,100");
+    values.put("bundledDiscountPrice", "6,200");
+    values.put("premierDiscountPrice", "1,100");
+    values.put("finalAmount", "89,000");
+    return values;
+  }
+
+  /**
+   * 정산서 1건만 들어 있는 repository stub
+   * - 선조회/단건 조회는 fixture 정산서로 응답
+   * - Object 메서드(toString/hashCode/equals)는 proxy 자체 기준
+   * - 그 외 메서드는 빈 repository 처럼 응답 (Optional.empty, 빈 List, 0, false, null)
+   */
+  static BillingSettlementRepository settlementRepository(BillingSettlement settlement) {
+    return (BillingSettlementRepository) Proxy.newProxyInstance(
+        BillingSettlementRepository.class.getClassLoader(),
+        new Class<?>[]{BillingSettlementRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "toString" -> "BillingSettlementRepository stub(settlementId="
+              + settlement.getId() + ")";
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          case "findAllByTargetMonthAndUserIdIn" -> settlement.getTargetMonth().equals(args[0])
+              && ((Collection<?>) args[1]).contains(settlement.getUserId())
+              ? List.of(settlement) : List.of();
+          case "findByUserIdAndTargetMonth" -> settlement.getUserId().equals(args[0])
+              && settlement.getTargetMonth().equals(args[1])
+              ? Optional.of(settlement) : Optional.empty();
+          case "findDetailJsonById" -> Objects.equals(settlement.getId(), args[0])
+              ? Optional.ofNullable(settlement.getDetailJson()) : Optional.empty();
+          default -> emptyResult(method.getReturnType());
+        });
+  }
+
+  private static Object emptyResult(Class<?> type) {
+    if (type == Optional.class) {
+      return Optional.empty();
+    }
+    if (type == List.class || type == Iterable.class || type == Collection.class) {
+      return List.of();
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == boolean.class) {
+      return false;
+    }
+    return null;
+  }
+}
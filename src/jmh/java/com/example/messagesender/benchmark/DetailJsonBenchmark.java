@@ -0,0 +1,73 @@
+package com.example.messagesender.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import com.example.messagesender.service.template.DetailAggregate;
+import com.example.messagesender.service.template.DetailJsonAggregator;
+import com.example.messagesender.service.template.JsonFlattener;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * detail_json 처리 비용 (항목 수별)
+ * - streamingAggregate: 현재 경로 (JsonParser 스트리밍 합산)
+ * - treeAggregate: 이전 경로 (readTree 후 항목별 합산) 비교용
+ * - flatten: 전체 펼치기 (JsonFlattener)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DetailJsonBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int itemCount;
+
+  private ObjectMapper objectMapper;
+  private DetailJsonAggregator aggregator;
+  private JsonFlattener flattener;
+  private String detailJson;
+
+  @Setup
+  public void setUp() {
+    objectMapper = new ObjectMapper();
+    aggregator = DetailJsonAggregator.uncached(objectMapper);
+    flattener = new JsonFlattener();
+    detailJson = BillingFixtures.detailJson(itemCount);
+  }
+
+  @Benchmark
+  public DetailAggregate streamingAggregate() throws IOException {
+    return aggregator.aggregate(detailJson);
+  }
+
+  @Benchmark
+  public long treeAggregate() throws IOException {
+    JsonNode root = objectMapper.readTree(detailJson);
+    long usageAmount = 0L;
+    long discountAmount = 0L;
+    for (JsonNode item : root) {
+      usageAmount += item.path("chargedPrice").asLong(0L);
+      discountAmount += item.path("contractDiscountPrice").asLong(0L)
+          + item.path("bundledDiscountPrice").asLong(0L)
+          + item.path("premierDiscountPrice").asLong(0L);
+    }
+    return usageAmount - discountAmount;
+  }
+
+  @Benchmark
+  public Map<String, String> flatten() throws IOException {
+    Map<String, String> out = new HashMap<>();
+    flattener.flatten(objectMapper.readTree(detailJson), "detail", out);
+    return out;
+  }
+}
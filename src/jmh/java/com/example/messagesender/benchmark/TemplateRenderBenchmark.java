@@ -0,0 +1,47 @@
+package com.example.messagesender.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import com.example.messagesender.service.template.MessageTemplateEngine;
+import com.example.messagesender.service.template.RenderedMessage;
+
+/**
+ * placeholder 치환 비용
+ * - uncached: 매 메시지마다 title/body 컴파일 + 치환
+ * - cached: templateId 기준 컴파일 결과 재사용 (MessageProcessService 경로)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TemplateRenderBenchmark {
+
+  private static final Long TEMPLATE_ID = 1L;
+
+  private MessageTemplateEngine engine;
+  private Map<String, String> values;
+
+  @Setup
+  public void setUp() {
+    engine = new MessageTemplateEngine();
+    values = BillingFixtures.billingValues();
+    engine.render(TEMPLATE_ID, BillingFixtures.BILLING_TITLE, BillingFixtures.BILLING_BODY, values);
+  }
+
+  @Benchmark
+  public RenderedMessage renderUncached() {
+    return engine.render(BillingFixtures.BILLING_TITLE, BillingFixtures.BILLING_BODY, values);
+  }
+
+  @Benchmark
+  public RenderedMessage renderCached() {
+    return engine.render(TEMPLATE_ID, BillingFixtures.BILLING_TITLE, BillingFixtures.BILLING_BODY,
+        values);
+  }
+}
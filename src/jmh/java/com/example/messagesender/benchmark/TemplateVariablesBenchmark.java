@@ -0,0 +1,57 @@
+package com.example.messagesender.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import com.example.messagesender.service.template.TemplateValueResolverOptions;
+import com.example.messagesender.service.template.TemplateValuesValidator;
+import com.example.messagesender.service.template.TemplateVariablesParser;
+import com.example.messagesender.service.template.TemplateVariablesParser.VariableSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * variables_json 파싱 + 값 검증/필터링 비용 (커스텀 템플릿 strict 옵션)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TemplateVariablesBenchmark {
+
+  private TemplateVariablesParser parser;
+  private TemplateValuesValidator validator;
+  private TemplateValueResolverOptions options;
+  private Map<String, VariableSpec> specMap;
+  private Map<String, String> values;
+
+  @Setup
+  public void setUp() {
+    parser = new TemplateVariablesParser(new ObjectMapper());
+    validator = new TemplateValuesValidator();
+    options = TemplateValueResolverOptions.forVariablesJson(BillingFixtures.BILLING_VARIABLES_JSON);
+    specMap = parser.parse(BillingFixtures.BILLING_VARIABLES_JSON);
+    values = BillingFixtures.billingValues();
+    values.put("totalPrice", "128,400");
+    values.put("chargedPrice", "128,400");
+    values.put("totalDiscount", "39,400");
+  }
+
+  @Benchmark
+  public Map<String, VariableSpec> parseVariablesJson() {
+    return parser.parse(BillingFixtures.BILLING_VARIABLES_JSON);
+  }
+
+  @Benchmark
+  public Map<String, String> validateAndFilter() {
+    // validateAndFilter 는 values 를 직접 수정하므로 매번 복사본 사용
+    Map<String, String> copy = new HashMap<>(values);
+    validator.validateAndFilter(specMap, copy, options);
+    return copy;
+  }
+}
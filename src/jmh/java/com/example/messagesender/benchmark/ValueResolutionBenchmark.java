@@ -0,0 +1,82 @@
+package com.example.messagesender.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import com.example.messagesender.domain.billing.BillingSettlement;
+import com.example.messagesender.dto.UserContact;
+import com.example.messagesender.repository.BillingSettlementRepository;
+import com.example.messagesender.service.template.DetailJsonAggregator;
+import com.example.messagesender.service.template.MessageTemplateEngine;
+import com.example.messagesender.service.template.RenderedMessage;
+import com.example.messagesender.service.template.ResolutionContext;
+import com.example.messagesender.service.template.SettlementLookup;
+import com.example.messagesender.service.template.TemplateSnapshot;
+import com.example.messagesender.service.template.TemplateValueResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 메시지 1건당 값 해석 + 치환 전체 비용 (DB 조회 제외)
+ * - 정산서는 선조회(SettlementLookup.prefetch)된 상태, detail_json 캐시는 사용하지 않음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValueResolutionBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int itemCount;
+
+  @Param({"default", "custom"})
+  private String templateType;
+
+  private TemplateValueResolver resolver;
+  private MessageTemplateEngine engine;
+  private TemplateSnapshot template;
+  private ResolutionContext context;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    BillingSettlement settlement =
+        BillingFixtures.settlement(BillingFixtures.detailJson(itemCount));
+    BillingSettlementRepository settlementRepository =
+        BillingFixtures.settlementRepository(settlement);
+
+    resolver = new TemplateValueResolver(null, settlementRepository, objectMapper, null,
+        DetailJsonAggregator.uncached(objectMapper));
+    engine = new MessageTemplateEngine();
+    template = TemplateSnapshot.from(BillingFixtures.billingTemplate(
+        "custom".equals(templateType) ? BillingFixtures.BILLING_VARIABLES_JSON : null),
+        objectMapper);
+
+    context = ResolutionContext.builder()
+        .userId(BillingFixtures.USER_ID)
+        .user(new UserContact(BillingFixtures.USER_ID, "김유플", "010-1234-5678",
+            "uplus.kim@example.com"))
+        .template(template)
+        .targetMonth(BillingFixtures.TARGET_MONTH)
+        .settlementLookup(SettlementLookup.prefetch(settlementRepository,
+            BillingFixtures.TARGET_MONTH, List.of(BillingFixtures.USER_ID)))
+        .build();
+  }
+
+  @Benchmark
+  public Map<String, String> resolve() {
+    return resolver.resolve(context);
+  }
+
+  @Benchmark
+  public RenderedMessage resolveAndRender() {
+    Map<String, String> values = resolver.resolve(context);
+    return engine.render(1L, template.getTitle(), template.getBody(), values);
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.messagesender.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지별 end-to-end 지연 수집
+ * - 시작: XADD 시각 (RecordId 의 ms 부분, 같은 호스트라 시계 동일)
+ * - 종료: 상태 확정 커밋 후 ACK 버퍼에 들어간 시각
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestProbe {
+
+  private volatile long[] latencies = new long[0];
+  private volatile CountDownLatch remaining = new CountDownLatch(0);
+  private final AtomicInteger recorded = new AtomicInteger();
+  private final AtomicLong lastCompletedAt = new AtomicLong();
+
+  public void expect(int messages) {
+    latencies = new long[messages];
+    recorded.set(0);
+    lastCompletedAt.set(0L);
+    remaining = new CountDownLatch(messages);
+  }
+
+  void record(RecordId recordId) {
+    long now = System.currentTimeMillis();
+    int index = recorded.getAndIncrement();
+    long[] target = latencies;
+    if (index < target.length) {
+      target[index] = now - recordId.getTimestamp();
+    }
+    lastCompletedAt.accumulateAndGet(now, Math::max);
+    remaining.countDown();
+  }
+
+  public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    return remaining.await(timeout, unit);
+  }
+
+  public int completed() {
+    return Math.min(recorded.get(), latencies.length);
+  }
+
+  public long lastCompletedAt() {
+    return lastCompletedAt.get();
+  }
+
+  /**
+   * 수집된 지연(ms) 오름차순
+   */
+  public long[] sortedLatencies() {
+    long[] copy = Arrays.copyOf(latencies, completed());
+    Arrays.sort(copy);
+    return copy;
+  }
+}
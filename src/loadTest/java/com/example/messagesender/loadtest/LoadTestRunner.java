@@ -0,0 +1,52 @@
+package com.example.messagesender.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.example.messagesender.MessageSenderApplication;
+import redis.embedded.RedisServer;
+
+/**
+ * 부하 테스트 진입점 (./gradlew loadTest)
+ * - embedded Redis 기동 -> loadtest 프로필로 애플리케이션 기동 -> LoadTestScenario 실행
+ * - --args 로 넘긴 값은 그대로 Spring 프로퍼티로 전달 (예: --worker.threads=32 --redis.stream.message.batch-size=50)
+ */
+public final class LoadTestRunner {
+
+  private LoadTestRunner() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    int redisPort = freePort();
+    RedisServer redisServer = new RedisServer(redisPort);
+    redisServer.start();
+
+    boolean completed = false;
+    try {
+      List<String> appArgs = new ArrayList<>(List.of(args));
+      appArgs.add("--spring.data.redis.port=" + redisPort);
+
+      SpringApplication application = new SpringApplication(MessageSenderApplication.class);
+      application.setAdditionalProfiles("loadtest");
+
+      ConfigurableApplicationContext context = application.run(appArgs.toArray(String[]::new));
+      try {
+        completed = context.getBean(LoadTestScenario.class).run();
+      } finally {
+        SpringApplication.exit(context);
+      }
+    } finally {
+      redisServer.stop();
+    }
+    System.exit(completed ? 0 : 1);
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,272 @@
+package com.example.messagesender.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import jakarta.persistence.EntityManagerFactory;
+import com.example.messagesender.consumer.StreamShards;
+import com.example.messagesender.worker.MessageLane;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 부하 테스트 시나리오
+ * 1) users / billing_settlements / message_send_results(WAITING) N건 생성
+ * 2) DB(Hibernate statistics) / Redis(INFO commandstats) 카운터 초기화
+ * 3) XADD N건 (pipeline) -> 전체 ACK 대기
+ * 4) 처리량, end-to-end p50/p99, 메시지당 DB/Redis 호출 수 출력
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestScenario {
+
+  // data.sql 고정 id
+  private static final long STATUS_WAITING_ID = 1L;
+  private static final long CHANNEL_EMAIL_ID = 6L;
+  private static final long CHANNEL_SMS_ID = 7L;
+  private static final long TEMPLATE_EMAIL_ID = 1L;
+  private static final long TEMPLATE_SMS_ID = 2L;
+  private static final long RESERVATION_EMAIL_ID = 1L;
+  private static final long RESERVATION_SMS_ID = 2L;
+  private static final String TARGET_MONTH = "2026-09";
+
+  // detail_json 항목당 금액
+  private static final int CHARGED_PRICE = 12_100;
+  private static final int CONTRACT_DISCOUNT = 3_025;
+  private static final int BUNDLED_DISCOUNT = 1_100;
+
+  private static final int CHUNK_SIZE = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final StringRedisTemplate redisTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final LoadTestProbe probe;
+  private final Environment environment;
+  private final StreamShards streamShards;
+
+  @Value("${loadtest.messages:10000}")
+  private int messages;
+
+  @Value("${loadtest.email-ratio:0.5}")
+  private double emailRatio;
+
+  @Value("${loadtest.detail-items:10}")
+  private int detailItems;
+
+  @Value("${loadtest.timeout-seconds:300}")
+  private long timeoutSeconds;
+
+  /**
+   * @return 전체 메시지가 제한 시간 안에 처리되었는지 여부
+   */
+  public boolean run() throws InterruptedException {
+    log.info("[loadtest] messages={}, emailRatio={}, detailItems={}, worker.mode={}, "
+            + "worker.threads={}, batch-size={}, poll-timeout-ms={}, batch-claim={}",
+        messages, emailRatio, detailItems,
+        environment.getProperty("worker.mode", "platform"),
+        environment.getProperty("worker.threads", "8"),
+        environment.getProperty("redis.stream.message.batch-size", "10"),
+        environment.getProperty("redis.stream.message.poll-timeout-ms", "500"),
+        environment.getProperty("worker.batch-claim.enabled", "false"));
+
+    seed();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    resetRedisStats();
+    probe.expect(messages);
+
+    long startedAt = System.currentTimeMillis();
+    publish();
+    long publishedAt = System.currentTimeMillis();
+
+    boolean completed = probe.await(timeoutSeconds, TimeUnit.SECONDS);
+    long finishedAt = completed ? probe.lastCompletedAt() : System.currentTimeMillis();
+
+    report(startedAt, publishedAt, finishedAt, statistics, redisCommandCalls());
+    if (!completed) {
+      log.warn("[loadtest] timeout: {}/{} 건만 완료", probe.completed(), messages);
+    }
+    return completed;
+  }
+
+  private void seed() {
+    LocalDateTime now = LocalDateTime.now();
+    for (int from = 1; from <= messages; from += CHUNK_SIZE) {
+      int to = Math.min(messages, from + CHUNK_SIZE - 1);
+      List<Object[]> users = new ArrayList<>();
+      List<Object[]> settlements = new ArrayList<>();
+      List<Object[]> results = new ArrayList<>();
+
+      for (long id = from; id <= to; id++) {
+        boolean email = isEmail(id);
+        users.add(new Object[]{id, "사용자" + id, String.format("010-%08d", id),
+            "user" + id + "@example.com"});
+        settlements.add(new Object[]{id, 1L, TARGET_MONTH, id, detailJson(id), finalAmount()});
+        results.add(new Object[]{id, email ? RESERVATION_EMAIL_ID : RESERVATION_SMS_ID, id,
+            email ? CHANNEL_EMAIL_ID : CHANNEL_SMS_ID, email ? TEMPLATE_EMAIL_ID : TEMPLATE_SMS_ID,
+            STATUS_WAITING_ID, Timestamp.valueOf(now), 0});
+      }
+
+      jdbcTemplate.batchUpdate(
+          "INSERT INTO users (id, name, phone, email) VALUES (?, ?, ?, ?)", users);
+      jdbcTemplate.batchUpdate("""
+          INSERT INTO billing_settlements (id, batch_run_id, target_month, user_id, detail_json, final_amount)
+          VALUES (?, ?, ?, ?, ?, ?)
+          """, settlements);
+      jdbcTemplate.batchUpdate("""
+          INSERT INTO message_send_results
+            (id, reserved_send_id, user_id, channel_id, template_id, status_id, requested_at, retry_count)
+          VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+          """, results);
+    }
+    log.info("[loadtest] seeded users/settlements/results: {}", messages);
+  }
+
+  private void publish() {
+    for (int from = 1; from <= messages; from += CHUNK_SIZE) {
+      int start = from;
+      int end = Math.min(messages, from + CHUNK_SIZE - 1);
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        StringRedisConnection conn = (StringRedisConnection) connection;
+        for (long id = start; id <= end; id++) {
+          Map<String, String> body = new HashMap<>();
+          body.put("messageSendResultId", String.valueOf(id));
+          body.put("channel", isEmail(id) ? "EMAIL" : "SMS");
+          body.put("purpose", "BILLING");
+          conn.xAdd(streamShards.keyFor(id, MessageLane.BILLING), body);
+        }
+        return null;
+      });
+    }
+  }
+
+  private void report(long startedAt, long publishedAt, long finishedAt, Statistics statistics,
+      Map<String, Long> redisCalls) {
+    int completed = probe.completed();
+    long[] latencies = probe.sortedLatencies();
+    double elapsedSeconds = Math.max(1L, finishedAt - startedAt) / 1000.0;
+    double perMessage = Math.max(1, completed);
+
+    log.info("[loadtest] completed={}/{}, publish={}ms, elapsed={}s, throughput={} msg/s",
+        completed, messages, publishedAt - startedAt, format(elapsedSeconds),
+        format(completed / elapsedSeconds));
+    log.info("[loadtest] e2e latency(ms): p50={}, p90={}, p99={}, max={}",
+        percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+        latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    log.info("[loadtest] db per message: statements={}, transactions={}, entityLoads={}, "
+            + "queries={}",
+        format(statistics.getPrepareStatementCount() / perMessage),
+        format(statistics.getTransactionCount() / perMessage),
+        format(statistics.getEntityLoadCount() / perMessage),
+        format(statistics.getQueryExecutionCount() / perMessage));
+
+    long redisTotal = redisCalls.values().stream().mapToLong(Long::longValue).sum();
+    StringBuilder perCommand = new StringBuilder();
+    redisCalls.forEach((command, calls) -> perCommand.append(command).append('=')
+        .append(format(calls / perMessage)).append(' '));
+    log.info("[loadtest] redis per message: total={} ({})", format(redisTotal / perMessage),
+        perCommand.toString().trim());
+
+    Map<String, Object> statusCounts = new TreeMap<>();
+    jdbcTemplate.query("""
+        SELECT c.code AS status, COUNT(*) AS cnt
+          FROM message_send_results m JOIN codes c ON c.id = m.status_id
+         GROUP BY c.code
+        """, rs -> {
+      statusCounts.put(rs.getString("status"), rs.getLong("cnt"));
+    });
+    log.info("[loadtest] final status: {}", statusCounts);
+  }
+
+  private void resetRedisStats() {
+    redisTemplate.execute((RedisCallback<Object>) connection -> {
+      connection.serverCommands().resetConfigStats();
+      return null;
+    });
+  }
+
+  // consumer 쪽 명령만 집계 (부하 생성용 XADD, 측정용 INFO/CONFIG 제외)
+  private Map<String, Long> redisCommandCalls() {
+    Properties info = redisTemplate.execute(
+        (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+    Map<String, Long> calls = new TreeMap<>();
+    if (info == null) {
+      return calls;
+    }
+    for (String name : info.stringPropertyNames()) {
+      if (!name.startsWith("cmdstat_")) {
+        continue;
+      }
+      String command = name.substring("cmdstat_".length());
+      if (command.equals("xadd") || command.equals("info") || command.startsWith("config")) {
+        continue;
+      }
+      // calls=12,usec=34,usec_per_call=2.83,...
+      for (String field : info.getProperty(name).split(",")) {
+        if (field.startsWith("calls=")) {
+          calls.put(command, Long.parseLong(field.substring("calls=".length())));
+        }
+      }
+    }
+    return calls;
+  }
+
+  private boolean isEmail(long id) {
+    // 앞쪽부터 비율대로 채우지 않고 고르게 섞음
+    return (id * 0.6180339887 % 1.0) < emailRatio;
+  }
+
+  private String detailJson(long userId) {
+    StringBuilder sb = new StringBuilder(detailItems * 160);
+    sb.append('[');
+    for (int i = 0; i < detailItems; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"serviceId\":").append(1000 + i)
+          .append(",\"userId\":").append(userId)
+          .append(",\"chargedPrice\":").append(CHARGED_PRICE)
+          .append(",\"contractDiscountPrice\":").append(CONTRACT_DISCOUNT)
+          .append(",\"bundledDiscountPrice\":").append(BUNDLED_DISCOUNT)
+          .append(",\"premierDiscountPrice\":0}");
+    }
+    sb.append(']');
+    return sb.toString();
+  }
+
+  // final_amount = 사용 금액 - 할인 금액 (detail_json 합산과 맞춤)
+  private int finalAmount() {
+    return (CHARGED_PRICE - CONTRACT_DISCOUNT - BUNDLED_DISCOUNT) * detailItems;
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return 0L;
+    }
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  private static String format(double value) {
+    return String.format("%.2f", value);
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.messagesender.loadtest;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+import com.example.messagesender.worker.StreamAckBuffer;
+
+/**
+ * 운영 StreamAckBuffer bean 을 감싸서 ACK 시점을 LoadTestProbe 에 기록 (loadtest 프로필)
+ * - 버퍼는 운영 bean 하나뿐 (flush 스케줄 1개, gauge/consumer/worker 가 같은 버퍼를 봄)
+ * - add 호출만 가로채서 위임 후 기록 (add 오버로드끼리의 내부 호출은 대상 객체 안이라 한 번만 기록)
+ */
+@Component
+@Profile("loadtest")
+public class RecordingStreamAckBufferPostProcessor implements BeanPostProcessor {
+
+  // BeanPostProcessor 는 먼저 생성되므로 probe 는 사용 시점에 조회
+  private final ObjectProvider<LoadTestProbe> probe;
+
+  public RecordingStreamAckBufferPostProcessor(ObjectProvider<LoadTestProbe> probe) {
+    this.probe = probe;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof StreamAckBuffer)) {
+      return bean;
+    }
+    ProxyFactory factory = new ProxyFactory(bean);
+    factory.setProxyTargetClass(true);
+    factory.addAdvice((MethodInterceptor) invocation -> {
+      Object result = invocation.proceed();
+      if ("add".equals(invocation.getMethod().getName())) {
+        Object[] args = invocation.getArguments();
+        LoadTestProbe loadTestProbe = probe.getObject();
+        for (RecordId recordId : (RecordId[]) args[args.length - 1]) {
+          loadTestProbe.record(recordId);
+        }
+      }
+      return result;
+    });
+    return factory.getProxy();
+  }
+}
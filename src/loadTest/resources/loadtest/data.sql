@@ -0,0 +1,48 @@
+-- 코드 (CodeCache 가 ApplicationReadyEvent 에서 읽음) + 템플릿/예약 고정 데이터
+-- 사용자/정산서/발송 결과는 LoadTestScenario 가 건수에 맞춰 생성
+
+INSERT INTO code_groups (id, code, name) VALUES
+  (1, 'MESSAGE_SEND_STATUS', '메시지 발송 상태'),
+  (2, 'MESSAGE_CHANNEL', '메시지 채널'),
+  (3, 'MESSAGE_PURPOSE', '메시지 목적'),
+  (4, 'RESERVATION_STATUS', '예약 상태');
+
+INSERT INTO codes (id, code, name, group_id) VALUES
+  (1, 'WAITING', '대기', 1),
+  (2, 'PROCESSING', '처리중', 1),
+  (3, 'SUCCESS', '성공', 1),
+  (4, 'FAILED', '실패', 1),
+  (5, 'EXCEEDED', '재시도 초과', 1),
+  (6, 'EMAIL', '이메일', 2),
+  (7, 'SMS', '문자', 2),
+  (8, 'BILLING', '청구', 3),
+  (9, 'NOTICE', '공지', 3),
+  (10, 'WAITING', '대기', 4),
+  (11, 'PROCESSING', '처리중', 4),
+  (12, 'SENT', '발송완료', 4),
+  (13, 'CANCELED', '취소', 4);
+
+INSERT INTO user_groups (id, code, name, description) VALUES
+  (1, 'LOADTEST', '부하 테스트', '부하 테스트 대상 전체');
+
+INSERT INTO message_templates (id, code, name, channel_type_id, purpose_type_id, title, body, variables_json) VALUES
+  (1, 'LOADTEST_BILLING_EMAIL', '청구서 이메일', 6, 8,
+   '[LG U+] {userName}님, {targetMonth} 이용 요금 청구서 안내',
+   '안녕하세요, {userName} 고객님.
+{billingMonth} 통신 요금 청구 내역을 안내해 드립니다.
+
+■ 이용 금액: {usageAmount}원
+■ 할인 금액: -{discountAmount}원
+  - 약정 할인: -{contractDiscountPrice}원
+  - 결합 할인: -{bundledDiscountPrice}원
+  - 프리미어 할인: -{premierDiscountPrice}원
+■ 최종 청구 금액: {finalAmount}원
+
+자세한 내용은 고객센터(114) 또는 U+ 앱에서 확인해 주세요.', NULL),
+  (2, 'LOADTEST_BILLING_SMS', '청구서 문자', 7, 8,
+   NULL,
+   '[LG U+] {userName}님 {billingMonth} 청구금액 {finalAmount}원 (할인 {discountAmount}원)', NULL);
+
+INSERT INTO message_reservations (id, scheduled_at, status_id, channel_type_id, template_id, user_group_id, target_month) VALUES
+  (1, CURRENT_TIMESTAMP, 11, 6, 1, 1, '2026-09'),
+  (2, CURRENT_TIMESTAMP, 11, 7, 2, 1, '2026-09');
@@ -0,0 +1,91 @@
+-- 엔티티 매핑 기준 최소 스키마 (H2 MySQL 모드)
+-- json 컬럼은 H2 JSON 타입이 문자열 바인딩을 JSON 문자열로 감싸버려서 CLOB 으로 둔다.
+
+CREATE TABLE code_groups (
+  id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+  code VARCHAR(50)  NOT NULL UNIQUE,
+  name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE codes (
+  id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+  code     VARCHAR(50)  NOT NULL,
+  name     VARCHAR(100) NOT NULL,
+  group_id BIGINT       NOT NULL
+);
+
+CREATE TABLE users (
+  id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+  name  VARCHAR(15)  NOT NULL,
+  phone VARCHAR(255) NOT NULL,
+  email VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE user_groups (
+  id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+  code        VARCHAR(50)  NOT NULL,
+  name        VARCHAR(100) NOT NULL,
+  description VARCHAR(255)
+);
+
+CREATE TABLE user_user_groups (
+  id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+  group_id BIGINT NOT NULL,
+  user_id  BIGINT NOT NULL
+);
+
+CREATE TABLE message_templates (
+  id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+  code            VARCHAR(50)  NOT NULL UNIQUE,
+  name            VARCHAR(50)  NOT NULL,
+  channel_type_id BIGINT       NOT NULL,
+  purpose_type_id BIGINT       NOT NULL,
+  title           VARCHAR(150),
+  body            CLOB         NOT NULL,
+  variables_json  CLOB
+);
+
+CREATE TABLE message_reservations (
+  id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+  scheduled_at    TIMESTAMP  NOT NULL,
+  status_id       BIGINT     NOT NULL,
+  channel_type_id BIGINT     NOT NULL,
+  template_id     BIGINT     NOT NULL,
+  user_group_id   BIGINT     NOT NULL,
+  target_month    VARCHAR(7) NOT NULL
+);
+
+CREATE TABLE message_send_results (
+  id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+  reserved_send_id BIGINT    NOT NULL,
+  user_id          BIGINT    NOT NULL,
+  channel_id       BIGINT    NOT NULL,
+  template_id      BIGINT    NOT NULL,
+  status_id        BIGINT    NOT NULL,
+  requested_at     TIMESTAMP NOT NULL,
+  processed_at     TIMESTAMP,
+  claimed_at       TIMESTAMP(3),
+  retry_count      INT       NOT NULL
+);
+CREATE INDEX idx_msr_status_requested ON message_send_results (status_id, requested_at);
+
+CREATE TABLE billing_settlements (
+  id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+  batch_run_id BIGINT     NOT NULL,
+  target_month VARCHAR(7) NOT NULL,
+  user_id      BIGINT     NOT NULL,
+  detail_json  CLOB       NOT NULL,
+  final_amount INT        NOT NULL,
+  CONSTRAINT uk_billing_settlements_user_month UNIQUE (user_id, target_month)
+);
+
+CREATE TABLE charged_histories (
+  id                      BIGINT AUTO_INCREMENT PRIMARY KEY,
+  user_id                 BIGINT    NOT NULL,
+  service_id              BIGINT    NOT NULL,
+  created_at              TIMESTAMP NOT NULL,
+  charged_price           INT       NOT NULL,
+  contract_discount_price INT       NOT NULL,
+  bundled_discount_price  INT       NOT NULL,
+  premier_discount_price  INT       NOT NULL
+);
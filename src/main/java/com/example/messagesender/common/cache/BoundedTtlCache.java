@@ -0,0 +1,84 @@
+package com.example.messagesender.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 크기 + TTL 기반 in-process 캐시 (LRU)
+ * - 조회/저장만 락 안에서 처리하고, 로딩(DB 조회 등)은 락 밖에서 수행
+ * - 동시에 같은 key 를 로딩하면 중복 로딩될 수 있음 (마지막 값이 남음)
+ * - loader 가 null 을 반환하면 캐싱하지 않음
+ */
+public class BoundedTtlCache<K, V> {
+
+  private final int maxSize;
+  private final long ttlNanos;
+  private final LinkedHashMap<K, Entry<V>> entries;
+
+  public BoundedTtlCache(int maxSize, long ttlMillis) {
+    this.maxSize = maxSize;
+    this.ttlNanos = ttlMillis * 1_000_000L;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        return size() > BoundedTtlCache.this.maxSize;
+      }
+    };
+  }
+
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    V cached = getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    V loaded = loader.apply(key);
+    if (loaded != null) {
+      put(key, loaded);
+    }
+    return loaded;
+  }
+
+  public V getIfPresent(K key) {
+    long now = System.nanoTime();
+    synchronized (entries) {
+      Entry<V> entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (now - entry.loadedAt >= ttlNanos) {
+        entries.remove(key);
+        return null;
+      }
+      return entry.value;
+    }
+  }
+
+  public void put(K key, V value) {
+    Entry<V> entry = new Entry<>(value, System.nanoTime());
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+  }
+
+  public void invalidate(K key) {
+    synchronized (entries) {
+      entries.remove(key);
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private record Entry<V>(V value, long loadedAt) {
+  }
+}
@@ -9,6 +9,8 @@ import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +22,8 @@ public class CodeCache {
 
   private final Map<String, Code> codeByKey = new HashMap<>();
 
-  // 애플리케이션 기동 시점에 맵에 저장
+  // 애플리케이션 기동 시점에 맵에 저장 (코드 ID 를 쓰는 다른 초기화보다 먼저)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
   @EventListener(ApplicationReadyEvent.class)
   @Transactional(readOnly = true)
   public void init() {
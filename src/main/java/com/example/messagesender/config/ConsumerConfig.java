@@ -1,22 +1,85 @@
 package com.example.messagesender.config;
 
+import com.example.messagesender.worker.BoundedVirtualThreadExecutor;
+import com.example.messagesender.worker.DelayedTaskExecutor;
+import com.example.messagesender.worker.HashedWheelDelayedTaskExecutor;
+import com.example.messagesender.worker.LaneScheduler;
+import com.example.messagesender.worker.LaneScheduler.Budget;
+import com.example.messagesender.worker.MessageLane;
+import com.example.messagesender.worker.ScheduledDelayedTaskExecutor;
+import com.example.messagesender.worker.VirtualThreadDelayedTaskExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.*;
 
 @Configuration
 public class ConsumerConfig {
 
+  // platform: 고정 스레드 풀 / virtual: 메시지당 virtual thread (Java 21)
+  @Value("${worker.mode:platform}")
+  private String workerMode;
+
   @Value("${worker.threads:8}")
   private int workerThreads;
 
   @Value("${worker.queue-capacity:500}")
   private int queueCapacity;
 
+  // virtual 모드 동시 처리 상한 (기본: DB 커넥션 풀 크기)
+  @Value("${worker.virtual.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}")
+  private int virtualMaxConcurrency;
+
+  // platform 모드 EMAIL 지연 실행기: wheel(기본, hashed timing wheel) / scheduled(ScheduledThreadPoolExecutor)
+  // - durable 이면 EmailDelayQueue(Redis ZSET)가 지연 확정을 맡고 이 실행기는 쓰이지 않음
+  @Value("${worker.email-delay.type:wheel}")
+  private String emailDelayType;
+
+  @Value("${worker.email-delay.tick-ms:10}")
+  private long emailDelayTickMs;
+
+  @Value("${worker.email-delay.wheel-size:512}")
+  private int emailDelayWheelSize;
+
+  @Value("${worker.email-delay.dispatch-threads:4}")
+  private int emailDelayDispatchThreads;
+
+  @Value("${worker.email-delay.dispatch-size:256}")
+  private int emailDelayDispatchSize;
+
+  @Value("${worker.email-delay.drain-timeout-ms:2000}")
+  private long emailDelayDrainTimeoutMs;
+
+  // lane 가중치 (실행 가능한 lane 끼리 이 비율로 worker 슬롯 배분)
+  @Value("${worker.lanes.billing.weight:6}")
+  private int billingWeight;
+
+  @Value("${worker.lanes.retry.weight:3}")
+  private int retryWeight;
+
+  @Value("${worker.lanes.notice.weight:1}")
+  private int noticeWeight;
+
+  // lane 동시 실행 한도 (0 이면 기본값: billing 은 전체, retry/notice 는 절반)
+  @Value("${worker.lanes.billing.max-concurrency:0}")
+  private int billingMaxConcurrency;
+
+  @Value("${worker.lanes.retry.max-concurrency:0}")
+  private int retryMaxConcurrency;
+
+  @Value("${worker.lanes.notice.max-concurrency:0}")
+  private int noticeMaxConcurrency;
+
   @Bean(destroyMethod = "shutdown")
   public ExecutorService workerExecutorService() {
+    if (isVirtualMode()) {
+      return new BoundedVirtualThreadExecutor("msg-worker-v-", virtualMaxConcurrency);
+    }
+
     BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(queueCapacity);
 
     ThreadFactory threadFactory = r -> {
@@ -27,7 +90,8 @@ public class ConsumerConfig {
     };
 
     RejectedExecutionHandler rejectHandler = (r, executor) -> {
-      // 큐가 꽉 찼을 때: 호출자 스레드에서 실행 (백프레셔)
+      // 큐가 꽉 찼을 때: 호출자 스레드에서 실행
+      // - LaneScheduler 가 스레드 수 이하로만 제출하고 intake 는 StreamPoller credit 으로 제한되므로 정상 경로에서는 발생하지 않음
       if (!executor.isShutdown()) {
         r.run();
       }
@@ -37,8 +101,39 @@ public class ConsumerConfig {
         threadFactory, rejectHandler);
   }
 
+  /**
+   * lane 별 한도/가중치로 workerExecutorService 에 제출 (전체 실행 수는 worker 동시 처리 수 이하)
+   */
+  @Bean
+  public LaneScheduler messageLaneScheduler(ExecutorService workerExecutorService) {
+    int maxRunning = isVirtualMode() ? virtualMaxConcurrency : workerThreads;
+    int half = (maxRunning + 1) / 2;
+
+    Map<MessageLane, Budget> budgets = new EnumMap<>(MessageLane.class);
+    budgets.put(MessageLane.BILLING,
+        new Budget(billingWeight, orDefault(billingMaxConcurrency, maxRunning)));
+    budgets.put(MessageLane.RETRY, new Budget(retryWeight, orDefault(retryMaxConcurrency, half)));
+    budgets.put(MessageLane.NOTICE,
+        new Budget(noticeWeight, orDefault(noticeMaxConcurrency, half)));
+    return new LaneScheduler(workerExecutorService, maxRunning, budgets);
+  }
+
+  // 종료 순서: emailDelayExecutor(남은 지연 확정 실행) -> messageStatusWriter(남은 결과 확정) -> streamAckBuffer
   @Bean(destroyMethod = "shutdown")
-  public ScheduledExecutorService emailDelayScheduler() {
+  @DependsOn("messageStatusWriter")
+  public DelayedTaskExecutor emailDelayExecutor() {
+    if (isVirtualMode()) {
+      // 지연 동안 virtual thread 가 park (scheduler 스레드 점유 없음)
+      return new VirtualThreadDelayedTaskExecutor("email-delay-v-", emailDelayDrainTimeoutMs);
+    }
+
+    if (!"scheduled".equalsIgnoreCase(emailDelayType)) {
+      // tick 단위 bucket 으로 모아서 만료 시 묶음 실행 (등록 O(1), 항목당 객체 1개)
+      return new HashedWheelDelayedTaskExecutor("email-delay-", emailDelayTickMs,
+          emailDelayWheelSize, emailDelayDispatchThreads, emailDelayDispatchSize,
+          emailDelayDrainTimeoutMs);
+    }
+
     ScheduledThreadPoolExecutor exec = new ScheduledThreadPoolExecutor(4,
         r -> {
           Thread t = new Thread(r);
@@ -47,7 +142,36 @@ public class ConsumerConfig {
           return t;
         });
     exec.setRemoveOnCancelPolicy(true);
-    return exec;
+    return new ScheduledDelayedTaskExecutor(exec);
   }
 
+  // batch 수집/flush 타이머 전용 (짧은 주기 작업만 올린다)
+  @Bean(destroyMethod = "shutdown")
+  public ScheduledExecutorService flushScheduler() {
+    return Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r);
+      t.setName("msg-flush-" + t.getId());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  // mock sender 비동기 응답 지연 타이머 (지연 동안 worker 스레드를 점유하지 않도록)
+  @Bean(destroyMethod = "shutdown")
+  public ScheduledExecutorService senderMockScheduler() {
+    return Executors.newScheduledThreadPool(2, r -> {
+      Thread t = new Thread(r);
+      t.setName("sender-mock-" + t.getId());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  private static int orDefault(int value, int defaultValue) {
+    return value > 0 ? value : defaultValue;
+  }
+
+  private boolean isVirtualMode() {
+    return "virtual".equalsIgnoreCase(workerMode);
+  }
 }
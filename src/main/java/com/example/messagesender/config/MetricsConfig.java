@@ -0,0 +1,137 @@
+package com.example.messagesender.config;
+
+import com.example.messagesender.consumer.StreamShardAssignment;
+import com.example.messagesender.consumer.StreamShards;
+import com.example.messagesender.service.MessageStatusWriter;
+import com.example.messagesender.worker.BoundedVirtualThreadExecutor;
+import com.example.messagesender.worker.DelayedTaskExecutor;
+import com.example.messagesender.worker.LaneScheduler;
+import com.example.messagesender.worker.MessageLane;
+import com.example.messagesender.worker.StreamAckBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * worker / 지연 발송 / 상태 확정 / stream ACK 대기열 gauge (actuator /prometheus 로 노출)
+ * - 단계별 처리 시간은 MessageProcessMetrics 참고
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Value("${redis.stream.message.group:message-group}")
+  private String group;
+
+  @Bean
+  public MeterBinder messagePipelineMetrics(ExecutorService workerExecutorService,
+      DelayedTaskExecutor emailDelayExecutor, MessageStatusWriter messageStatusWriter,
+      StreamAckBuffer streamAckBuffer, StringRedisTemplate redisTemplate,
+      StreamShards streamShards, StreamShardAssignment streamShardAssignment,
+      LaneScheduler messageLaneScheduler) {
+    return registry -> {
+      Gauge.builder("message.worker.queue.size", workerExecutorService,
+              MetricsConfig::queueSize)
+          .description("worker 실행 대기 작업 수")
+          .register(registry);
+      Gauge.builder("message.worker.active", workerExecutorService, MetricsConfig::activeCount)
+          .description("실행 중인 worker 작업 수")
+          .register(registry);
+
+      for (MessageLane lane : MessageLane.values()) {
+        Gauge.builder("message.lane.queued", messageLaneScheduler,
+                scheduler -> scheduler.queuedCount(lane))
+            .description("lane 별 worker 제출 대기 작업 수")
+            .tag("lane", lane.key())
+            .register(registry);
+        Gauge.builder("message.lane.running", messageLaneScheduler,
+                scheduler -> scheduler.runningCount(lane))
+            .description("lane 별 실행 중인 작업 수")
+            .tag("lane", lane.key())
+            .register(registry);
+      }
+
+      Gauge.builder("message.email.delay.pending", emailDelayExecutor,
+              DelayedTaskExecutor::pendingCount)
+          .description("EMAIL 지연 확정 대기 건수")
+          .register(registry);
+
+      Gauge.builder("message.status.writer.pending", messageStatusWriter,
+              MessageStatusWriter::pendingCount)
+          .description("상태 확정 flush 대기 건수")
+          .register(registry);
+
+      Gauge.builder("message.stream.ack.pending", streamAckBuffer,
+              StreamAckBuffer::pendingCount)
+          .description("XACK 전송 대기 건수")
+          .register(registry);
+      FunctionTimer.builder("message.stream.ack.flush", streamAckBuffer,
+              StreamAckBuffer::flushCount, StreamAckBuffer::totalFlushLatencyNanos,
+              TimeUnit.NANOSECONDS)
+          .description("XACK flush(pipeline) 소요 시간")
+          .register(registry);
+      FunctionCounter.builder("message.stream.ack.acked", streamAckBuffer,
+              StreamAckBuffer::ackedCount)
+          .description("XACK 전송 완료 건수")
+          .register(registry);
+      FunctionCounter.builder("message.stream.ack.flush.failures", streamAckBuffer,
+              StreamAckBuffer::flushFailureCount)
+          .description("XACK flush 실패 횟수")
+          .register(registry);
+
+      // consumer group PEL 크기 (scrape 마다 shard 별 XPENDING 요약 1회)
+      for (String streamKey : streamShards.keys()) {
+        Gauge.builder("message.stream.pending", redisTemplate,
+                template -> streamPending(template, streamKey))
+            .description("consumer group 미 ACK record 수")
+            .tag("stream", streamKey)
+            .register(registry);
+      }
+      Gauge.builder("message.stream.shards.subscribed", streamShardAssignment,
+              assignment -> assignment.subscribedShards().size())
+          .description("이 노드가 구독 중인 stream shard 수")
+          .register(registry);
+      Gauge.builder("message.stream.poll.batch.size", streamShardAssignment,
+              StreamShardAssignment::totalBatchSize)
+          .description("구독 중인 shard 의 현재 poll batch 크기 합 (처리 시간에 따라 조절)")
+          .register(registry);
+    };
+  }
+
+  private double streamPending(StringRedisTemplate redisTemplate, String streamKey) {
+    try {
+      PendingMessagesSummary summary = redisTemplate.opsForStream().pending(streamKey, group);
+      return summary == null ? 0 : summary.getTotalPendingMessages();
+    } catch (Exception e) { // Redis 장애 시 scrape 실패 대신 값 없음
+      return Double.NaN;
+    }
+  }
+
+  private static double queueSize(ExecutorService executor) {
+    if (executor instanceof ThreadPoolExecutor pool) {
+      return pool.getQueue().size();
+    }
+    if (executor instanceof BoundedVirtualThreadExecutor bounded) {
+      return bounded.waitingCount();
+    }
+    return Double.NaN;
+  }
+
+  private static double activeCount(ExecutorService executor) {
+    if (executor instanceof ThreadPoolExecutor pool) {
+      return pool.getActiveCount();
+    }
+    if (executor instanceof BoundedVirtualThreadExecutor bounded) {
+      return bounded.activeCount();
+    }
+    return Double.NaN;
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.messagesender.consumer;
+
+import com.example.messagesender.dto.MessageRequestDto;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+/**
+ * StreamPoller 는 poll 1회(batch-size) 결과를 record 단위로 onMessage 에 넘겨주므로, 같은 poll 에서
+ * 넘어온 record 를 다시 batch 로 묶어서 worker 에 넘긴다.
+ * - batch-size 만큼 모이면 즉시 dispatch
+ * - 덜 찬 batch 는 linger-ms 주기로 dispatch
+ */
+@Slf4j
+public class MessageBatchCollector {
+
+  private final int batchSize;
+  private final Consumer<Map<RecordId, MessageRequestDto>> dispatcher;
+
+  private Map<RecordId, MessageRequestDto> buffer = new LinkedHashMap<>();
+
+  public MessageBatchCollector(int batchSize, long lingerMs,
+      ScheduledExecutorService flushScheduler,
+      Consumer<Map<RecordId, MessageRequestDto>> dispatcher) {
+    this.batchSize = batchSize;
+    this.dispatcher = dispatcher;
+
+    flushScheduler.scheduleWithFixedDelay(() -> {
+      try {
+        flush();
+      } catch (Exception e) { // 예외로 주기 작업이 중단되지 않도록
+        log.error("[FAIL] stream batch flush failed", e);
+      }
+    }, lingerMs, lingerMs, TimeUnit.MILLISECONDS);
+  }
+
+  public void add(RecordId recordId, MessageRequestDto request) {
+    Map<RecordId, MessageRequestDto> full = null;
+    synchronized (this) {
+      buffer.put(recordId, request);
+      if (buffer.size() >= batchSize) {
+        full = buffer;
+        buffer = new LinkedHashMap<>();
+      }
+    }
+    if (full != null) {
+      dispatcher.accept(full);
+    }
+  }
+
+  public void flush() {
+    Map<RecordId, MessageRequestDto> pending;
+    synchronized (this) {
+      if (buffer.isEmpty()) {
+        return;
+      }
+      pending = buffer;
+      buffer = new LinkedHashMap<>();
+    }
+    dispatcher.accept(pending);
+  }
+}
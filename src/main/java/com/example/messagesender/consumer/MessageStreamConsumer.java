@@ -1,13 +1,21 @@
 package com.example.messagesender.consumer;
 
+import com.example.messagesender.common.code.enums.MessageSendStatus;
 import com.example.messagesender.dto.MessageRequestDto;
+import com.example.messagesender.service.MessageProcessMetrics;
 import com.example.messagesender.service.MessageProcessService;
+import com.example.messagesender.worker.BatchWorkerRunnable;
+import com.example.messagesender.worker.LaneScheduler;
+import com.example.messagesender.worker.MessageLane;
+import com.example.messagesender.worker.StreamAckBuffer;
 import com.example.messagesender.worker.WorkerRunnable;
-import java.util.concurrent.ExecutorService;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,12 +25,12 @@ import org.springframework.beans.factory.annotation.Value;
 public class MessageStreamConsumer implements
     StreamListener<String, MapRecord<String, String, String>> {
 
-  private final ExecutorService workerExecutorService;
+  private final LaneScheduler messageLaneScheduler;
+  private final StreamShards streamShards;
   private final MessageProcessService messageProcessService;
-  private final StringRedisTemplate redisTemplate;
-
-  @Value("${redis.stream.message.key:message-stream}")
-  private String streamKey;
+  private final StreamAckBuffer streamAckBuffer;
+  private final ScheduledExecutorService flushScheduler;
+  private final MessageProcessMetrics processMetrics;
 
   @Value("${redis.stream.message.group:message-group}")
   private String group;
@@ -30,22 +38,139 @@ public class MessageStreamConsumer implements
   @Value("${redis.stream.message.consumer}")
   private String consumerName;
 
+  @Value("${redis.stream.message.batch-size:10}")
+  private int batchSize;
+
+  // shard 별 처리 중(worker 제출 ~ 실행 종료) 최대 건수 = poll credit, 다 차면 해당 shard 만 poll 중단
+  @Value("${redis.stream.message.shard-max-inflight:256}")
+  private int shardMaxInflight;
+
+  // true 면 poll batch 단위로 묶어서 선점/발송 (MessageProcessService.processBatch)
+  @Value("${worker.batch-claim.enabled:false}")
+  private boolean batchClaimEnabled;
+
+  @Value("${worker.batch-claim.linger-ms:20}")
+  private long batchLingerMs;
+
+  // stream key 별 (ACK 는 record 가 들어온 shard 로)
+  private final Map<String, StreamCredits> shardCredits = new ConcurrentHashMap<>();
+  // (stream key, lane) 별 (batch 안에서는 lane 이 섞이지 않도록)
+  private final Map<CollectorKey, MessageBatchCollector> batchCollectors =
+      new ConcurrentHashMap<>();
+
   @Override
   public void onMessage(MapRecord<String, String, String> message) {
+    // poll 은 남은 credit 만큼만 가져오므로 대기는 거의 없음
+    StreamCredits credits = credits(message.getStream());
+    credits.acquire();
+    dispatch(message, false, credits);
+  }
+
+  /**
+   * PEL 재처리용 credit 미리 받기 (받은 수만큼만 XCLAIM 해서 onReclaimed 로 넘김)
+   * - 첫 credit 만 timeoutMillis 까지 기다리고, 없으면 0 -> 나머지는 PENDING 으로 두고 다음 주기에 재확인
+   *
+   * @return 받은 credit 수
+   */
+  public int reserveReclaimCredits(String streamKey, int count, long timeoutMillis) {
+    return credits(streamKey).tryAcquire(count, timeoutMillis);
+  }
+
+  // XCLAIM 에서 빠진 record 몫의 credit 반환
+  public void releaseReclaimCredits(String streamKey, int count) {
+    if (count > 0) {
+      credits(streamKey).release(count);
+    }
+  }
+
+  /**
+   * PEL 재처리로 다시 가져온 record (RETRY lane) - reserveReclaimCredits 로 받은 credit 1개 사용
+   */
+  public void onReclaimed(MapRecord<String, String, String> message) {
+    StreamCredits credits = credits(message.getStream());
+    try {
+      dispatch(message, true, credits);
+    } catch (RuntimeException e) { // worker 에 넘기지 못했으면 credit 반환 (record 는 PENDING 유지)
+      credits.release(1);
+      throw e;
+    }
+  }
+
+  // credit 은 호출 전에 받아 둠 (worker 실행이 끝나면 반환)
+  private void dispatch(MapRecord<String, String, String> message, boolean redelivered,
+      StreamCredits credits) {
     Long id = Long.valueOf(message.getValue().get("messageSendResultId"));
     String channel = message.getValue().get("channel");
     String purpose = message.getValue().get("purpose");
     MessageRequestDto requestDto = new MessageRequestDto(id, channel, purpose);
+    requestDto.setRedelivered(redelivered);
 
+    String streamKey = message.getStream();
     RecordId messageId = message.getId();
+    MessageLane lane = laneOf(streamKey, message.getValue(), redelivered);
+
+    if (batchClaimEnabled) {
+      batchCollector(streamKey, lane).add(messageId, requestDto);
+      return;
+    }
 
-    workerExecutorService
-        .submit(
-            new WorkerRunnable(messageProcessService, streamKey, group, messageId, requestDto,
-                redisTemplate));
+    submit(lane, new WorkerRunnable(messageProcessService, streamKey, group, messageId,
+        requestDto, streamAckBuffer, processMetrics), credits, 1);
+  }
+
+  // lane 전용 stream 이면 그 lane, 아니면 purpose / status(재시도 발행 시) 로 분류
+  private MessageLane laneOf(String streamKey, Map<String, String> body, boolean redelivered) {
+    MessageLane lane = streamShards.laneOf(streamKey);
+    if (lane != null && !redelivered) {
+      return lane;
+    }
+    return MessageLane.classify(MessageProcessMetrics.purposeOf(body.get("purpose")),
+        statusOf(body.get("status")), redelivered);
+  }
+
+  private static MessageSendStatus statusOf(String raw) {
+    if (raw == null || raw.isBlank()) {
+      return null;
+    }
+    try {
+      return MessageSendStatus.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private MessageBatchCollector batchCollector(String streamKey, MessageLane lane) {
+    return batchCollectors.computeIfAbsent(new CollectorKey(streamKey, lane),
+        key -> new MessageBatchCollector(batchSize, batchLingerMs, flushScheduler,
+            requests -> submitBatch(key, requests)));
+  }
+
+  private void submitBatch(CollectorKey key, Map<RecordId, MessageRequestDto> requests) {
+    submit(key.lane(), new BatchWorkerRunnable(messageProcessService, key.streamKey(), group,
+        requests, streamAckBuffer, processMetrics), credits(key.streamKey()), requests.size());
+  }
+
+  // worker 실행이 끝나면 (EMAIL 지연 확정은 별도 대기열) credit 반환 + 처리 시간 기록
+  private void submit(MessageLane lane, Runnable worker, StreamCredits credits, int count) {
+    long submittedAt = System.nanoTime();
+    messageLaneScheduler.submit(lane, () -> {
+      try {
+        worker.run();
+      } finally {
+        credits.recordLatency(System.nanoTime() - submittedAt);
+        credits.release(count);
+      }
+    });
+  }
+
+  StreamCredits credits(String streamKey) {
+    return shardCredits.computeIfAbsent(streamKey, key -> new StreamCredits(shardMaxInflight));
   }
 
   public String consumerName() {
     return consumerName;
   }
+
+  private record CollectorKey(String streamKey, MessageLane lane) {
+  }
 }
@@ -0,0 +1,246 @@
+package com.example.messagesender.consumer;
+
+import com.example.messagesender.worker.StreamAckBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Range.Bound;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * PEL(Pending Entries List) 재처리
+ * - interval-ms 마다 XPENDING 으로 min-idle-ms 이상 ACK 되지 않은 record 를 batch-size 건씩 조회
+ * - 전달 횟수가 max-deliveries 미만이면 XCLAIM 으로 가져와서 MessageStreamConsumer 경로로 다시 처리 (RETRY lane)
+ *   - shard 처리 credit 을 먼저 받은 만큼만 XCLAIM (credit-timeout-ms 안에 못 받으면 reclaimer 스레드를 막지 않고
+ *     나머지는 PENDING 으로 두고 다음 주기에 재확인, 전달 횟수도 늘지 않음)
+ * - max-deliveries 이상이면 dead-letter stream 으로 옮기고 ACK
+ * - Spring Data Redis 에 XAUTOCLAIM 이 없어서 XPENDING(전달 횟수 확인) + XCLAIM(min-idle 재확인) 조합으로 처리
+ * - 구독 배정과 무관하게 모든 shard 를 확인 (배정이 바뀐 shard 에 남은 record 도 재처리)
+ */
+@Slf4j
+@Component
+public class PendingMessageReclaimer {
+
+  // 한 주기에 확인하는 최대 XPENDING 페이지 수
+  private static final int MAX_PAGES_PER_RUN = 10;
+
+  private final StringRedisTemplate redisTemplate;
+  private final MessageStreamConsumer messageStreamConsumer;
+  private final StreamAckBuffer streamAckBuffer;
+  private final StreamShards streamShards;
+
+  private final Counter reclaimedCounter;
+  private final Counter deadLetteredCounter;
+  private final DistributionSummary deliveryCountSummary;
+
+  @Value("${redis.stream.message.group:message-group}")
+  private String group;
+
+  @Value("${redis.stream.reclaim.enabled:true}")
+  private boolean enabled;
+
+  @Value("${redis.stream.reclaim.interval-ms:5000}")
+  private long intervalMs;
+
+  @Value("${redis.stream.reclaim.min-idle-ms:60000}")
+  private long minIdleMs;
+
+  @Value("${redis.stream.reclaim.batch-size:100}")
+  private int batchSize;
+
+  @Value("${redis.stream.reclaim.max-deliveries:5}")
+  private long maxDeliveries;
+
+  @Value("${redis.stream.reclaim.dead-letter-key:message-stream:dead-letter}")
+  private String deadLetterKey;
+
+  @Value("${redis.stream.reclaim.credit-timeout-ms:200}")
+  private long creditTimeoutMs;
+
+  private ScheduledExecutorService scheduler;
+
+  public PendingMessageReclaimer(StringRedisTemplate redisTemplate,
+      MessageStreamConsumer messageStreamConsumer, StreamAckBuffer streamAckBuffer,
+      StreamShards streamShards, MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.messageStreamConsumer = messageStreamConsumer;
+    this.streamAckBuffer = streamAckBuffer;
+    this.streamShards = streamShards;
+    this.reclaimedCounter = Counter.builder("message.stream.reclaimed")
+        .description("XCLAIM 으로 재처리한 record 수")
+        .register(meterRegistry);
+    this.deadLetteredCounter = Counter.builder("message.stream.dead.lettered")
+        .description("dead-letter stream 으로 옮긴 record 수")
+        .register(meterRegistry);
+    this.deliveryCountSummary = DistributionSummary.builder("message.stream.reclaim.deliveries")
+        .description("재처리 대상 record 의 전달 횟수")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  synchronized void start() {
+    if (!enabled || scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r);
+      t.setName("msg-reclaim-" + t.getId());
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::reclaimSafely, intervalMs, intervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+  }
+
+  private void reclaimSafely() {
+    for (String streamKey : streamShards.keys()) {
+      try {
+        reclaimShard(streamKey);
+      } catch (Exception e) { // 예외로 주기 작업/다른 shard 확인이 중단되지 않도록
+        log.error("[FAIL] pending reclaim failed. stream={}", streamKey, e);
+      }
+    }
+  }
+
+  private void reclaimShard(String streamKey) {
+    // PEL 을 id 순으로 batch-size 씩 훑음 (앞쪽이 방금 재전달된 record 여도 뒤쪽까지 확인)
+    Range<String> range = Range.unbounded();
+    for (int page = 0; page < MAX_PAGES_PER_RUN; page++) {
+      PendingMessages pending =
+          redisTemplate.opsForStream().pending(streamKey, group, range, batchSize);
+      if (pending == null || pending.isEmpty()) {
+        return;
+      }
+      if (!reclaim(streamKey, pending) || pending.size() < batchSize) {
+        return;
+      }
+      String lastId = pending.get(pending.size() - 1).getIdAsString();
+      range = Range.of(Bound.exclusive(lastId), Bound.unbounded());
+    }
+  }
+
+  /**
+   * XPENDING 결과 중 min-idle 이상인 record 를 재처리 / dead-letter
+   *
+   * @return false 면 처리 credit 부족으로 일부를 남김 (이번 주기의 이 shard 확인 중단)
+   */
+  boolean reclaim(String streamKey, PendingMessages pending) {
+    Duration minIdle = Duration.ofMillis(minIdleMs);
+    List<RecordId> retryIds = new ArrayList<>();
+    List<RecordId> deadIds = new ArrayList<>();
+    Map<RecordId, Long> deliveries = new HashMap<>();
+    for (PendingMessage message : pending) {
+      if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+        continue;
+      }
+      deliveries.put(message.getId(), message.getTotalDeliveryCount());
+      deliveryCountSummary.record(message.getTotalDeliveryCount());
+      (message.getTotalDeliveryCount() >= maxDeliveries ? deadIds : retryIds)
+          .add(message.getId());
+    }
+
+    if (!deadIds.isEmpty()) {
+      deadLetter(streamKey, deadIds, minIdle, deliveries);
+    }
+    if (retryIds.isEmpty()) {
+      return true;
+    }
+
+    int reserved = messageStreamConsumer.reserveReclaimCredits(streamKey, retryIds.size(),
+        creditTimeoutMs);
+    if (reserved == 0) {
+      log.debug("[RECLAIM] no credit, left pending. stream={}, size={}", streamKey,
+          retryIds.size());
+      return false;
+    }
+
+    // XCLAIM 은 min-idle 을 다시 확인하므로 다른 노드와 동시에 가져가지 않음 (전달 횟수 +1)
+    List<MapRecord<String, String, String>> claimed;
+    try {
+      claimed = claim(streamKey, retryIds.subList(0, reserved), minIdle);
+    } catch (RuntimeException e) {
+      messageStreamConsumer.releaseReclaimCredits(streamKey, reserved);
+      throw e;
+    }
+    messageStreamConsumer.releaseReclaimCredits(streamKey, reserved - claimed.size());
+    int dispatched = 0;
+    for (MapRecord<String, String, String> record : claimed) {
+      try {
+        messageStreamConsumer.onReclaimed(record);
+        dispatched++;
+      } catch (Exception e) { // PENDING 유지, 다음 주기에 재확인
+        log.error("[FAIL] reclaimed record dispatch failed. id={}", record.getId(), e);
+      }
+    }
+    reclaimedCounter.increment(dispatched);
+    if (dispatched > 0) {
+      log.info("[RECLAIM] re-dispatched pending records. stream={}, size={}", streamKey,
+          dispatched);
+    }
+    return reserved == retryIds.size();
+  }
+
+  // 원본 필드 + 메타데이터를 dead-letter stream 에 남기고 원본 ACK
+  private void deadLetter(String streamKey, List<RecordId> ids, Duration minIdle,
+      Map<RecordId, Long> deliveries) {
+    List<MapRecord<String, String, String>> claimed = claim(streamKey, ids, minIdle);
+    for (MapRecord<String, String, String> record : claimed) {
+      Map<String, String> body = new HashMap<>(record.getValue());
+      body.put("originalId", record.getId().getValue());
+      body.put("originalStream", streamKey);
+      body.put("group", group);
+      body.put("deliveryCount", String.valueOf(deliveries.getOrDefault(record.getId(), 0L) + 1));
+      redisTemplate.opsForStream()
+          .add(StreamRecords.newRecord().in(deadLetterKey).ofMap(body));
+      streamAckBuffer.add(streamKey, group, record.getId());
+      log.warn("[DEAD-LETTER] id={}, messageSendResultId={}, deliveries={}",
+          record.getId(), record.getValue().get("messageSendResultId"), body.get("deliveryCount"));
+    }
+    deadLetteredCounter.increment(claimed.size());
+  }
+
+  private List<MapRecord<String, String, String>> claim(String streamKey, List<RecordId> ids,
+      Duration minIdle) {
+    List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+        .claim(streamKey, group, messageStreamConsumer.consumerName(), minIdle,
+            ids.toArray(new RecordId[0]));
+    if (records == null) {
+      return List.of();
+    }
+
+    List<MapRecord<String, String, String>> result = new ArrayList<>(records.size());
+    for (MapRecord<String, Object, Object> record : records) {
+      Map<String, String> body = new HashMap<>();
+      record.getValue().forEach((k, v) -> body.put(String.valueOf(k), String.valueOf(v)));
+      result.add(StreamRecords.newRecord().in(streamKey).withId(record.getId()).ofMap(body));
+    }
+    return result;
+  }
+}
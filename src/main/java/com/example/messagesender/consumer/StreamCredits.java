@@ -0,0 +1,84 @@
+package com.example.messagesender.consumer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * stream key 별 처리 credit
+ * - credit 1개 = 처리 중(lane 대기 + 실행) record 1건, worker 실행이 끝나면 반환
+ * - poller 는 남은 credit 만큼만 XREADGROUP 으로 가져옴 (없으면 poll 중단)
+ * - worker 처리 시간(제출 ~ 실행 종료) EWMA 로 poll batch 크기 조절
+ */
+final class StreamCredits {
+
+  // EWMA 가중치 1/8
+  private static final int EWMA_SHIFT = 3;
+
+  private final Semaphore permits;
+  private final AtomicLong latencyNanos = new AtomicLong(-1);
+
+  StreamCredits(int maxInflight) {
+    this.permits = new Semaphore(maxInflight);
+  }
+
+  void acquire() {
+    permits.acquireUninterruptibly();
+  }
+
+  /**
+   * 최대 count 개 credit 을 받음 (첫 credit 만 timeoutMillis 까지 대기, 나머지는 남은 만큼만)
+   *
+   * @return 받은 credit 수 (0 이면 timeout 또는 interrupt)
+   */
+  int tryAcquire(int count, long timeoutMillis) {
+    if (count <= 0) {
+      return 0;
+    }
+    try {
+      if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        return 0;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return 0;
+    }
+    int acquired = 1;
+    while (acquired < count && permits.tryAcquire()) {
+      acquired++;
+    }
+    return acquired;
+  }
+
+  void release(int count) {
+    permits.release(count);
+  }
+
+  int available() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * credit 이 생길 때까지 최대 timeoutMillis 대기 후 남은 credit 수 (0 이면 timeout)
+   */
+  int awaitAvailable(long timeoutMillis) throws InterruptedException {
+    if (permits.availablePermits() > 0) {
+      return permits.availablePermits();
+    }
+    if (permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+      permits.release();
+    }
+    return permits.availablePermits();
+  }
+
+  void recordLatency(long nanos) {
+    latencyNanos.updateAndGet(prev -> prev < 0 ? nanos : prev + ((nanos - prev) >> EWMA_SHIFT));
+  }
+
+  /**
+   * 처리 시간 EWMA (기록 전이면 -1)
+   */
+  long latencyNanos() {
+    return latencyNanos.get();
+  }
+}
@@ -0,0 +1,146 @@
+package com.example.messagesender.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * stream key 1개 credit 기반 poll 루프 (StreamMessageListenerContainer 대체)
+ * - 남은 credit(StreamCredits) 만큼만 XREADGROUP COUNT 로 가져옴 -> 메모리/대기 작업 수 상한
+ * - credit 이 없으면 poll 하지 않고 credit 반환을 기다림 (poll 스레드가 worker 작업을 대신 실행하지 않음)
+ * - batch 크기는 AIMD: 처리 시간 EWMA 가 target-latency 를 넘으면 절반, 아니고 가져온 만큼 꽉 찼으면 +1
+ * - Redis 오류 시 error-backoff 후 재시도 (구독이 취소되지 않음)
+ */
+@Slf4j
+final class StreamPoller {
+
+  private final StringRedisTemplate redisTemplate;
+  private final MessageStreamConsumer messageStreamConsumer;
+  private final String streamKey;
+  private final String group;
+  private final Settings settings;
+  private final Counter pausedCounter;
+  private final DistributionSummary recordsSummary;
+
+  private final StreamCredits credits;
+  private final Thread thread;
+  private volatile boolean running = true;
+
+  private volatile int batchSize;
+  private long lastDecreaseNanos;
+
+  StreamPoller(StringRedisTemplate redisTemplate, MessageStreamConsumer messageStreamConsumer,
+      String streamKey, String group, Settings settings, Counter pausedCounter,
+      DistributionSummary recordsSummary) {
+    this.redisTemplate = redisTemplate;
+    this.messageStreamConsumer = messageStreamConsumer;
+    this.streamKey = streamKey;
+    this.group = group;
+    this.settings = settings;
+    this.pausedCounter = pausedCounter;
+    this.recordsSummary = recordsSummary;
+    this.credits = messageStreamConsumer.credits(streamKey);
+    this.batchSize = Math.max(settings.minBatchSize(),
+        Math.min(settings.maxBatchSize(), settings.batchSize()));
+    this.lastDecreaseNanos =
+        System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.targetLatencyMs());
+    this.thread = new Thread(this::run, "stream-poll-" + streamKey);
+    this.thread.setDaemon(true);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  // 진행 중인 XREADGROUP(BLOCK) 이 끝나면 종료
+  void stop() {
+    running = false;
+  }
+
+  boolean isActive() {
+    return running && thread.isAlive();
+  }
+
+  int batchSize() {
+    return batchSize;
+  }
+
+  private void run() {
+    Consumer consumer = Consumer.from(group, messageStreamConsumer.consumerName());
+    StreamOffset<String> offset = StreamOffset.create(streamKey, ReadOffset.lastConsumed());
+    while (running) {
+      try {
+        int available = credits.awaitAvailable(settings.pollTimeoutMs());
+        if (available == 0) {
+          pausedCounter.increment();
+          continue;
+        }
+
+        int count = Math.min(batchSize, available);
+        List<MapRecord<String, String, String>> records = redisTemplate
+            .<String, String>opsForStream()
+            .read(consumer, StreamReadOptions.empty().count(count)
+                .block(Duration.ofMillis(settings.pollTimeoutMs())), offset);
+        int size = records == null ? 0 : records.size();
+        if (size > 0) {
+          recordsSummary.record(size);
+          for (MapRecord<String, String, String> record : records) {
+            messageStreamConsumer.onMessage(record);
+          }
+        }
+        adapt(size >= count);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) { // 예외로 poll 루프가 끝나지 않도록
+        if (!running) {
+          return;
+        }
+        log.error("[FAIL] stream poll failed. stream={}", streamKey, e);
+        sleep(settings.errorBackoffMs());
+      }
+    }
+  }
+
+  private void adapt(boolean full) {
+    long latency = credits.latencyNanos();
+    long now = System.nanoTime();
+    long target = TimeUnit.MILLISECONDS.toNanos(settings.targetLatencyMs());
+    if (latency > target) {
+      // 처리 시간 EWMA 가 반영될 시간을 두고 줄임 (target 주기당 1회)
+      if (now - lastDecreaseNanos >= target) {
+        batchSize = Math.max(settings.minBatchSize(), batchSize / 2);
+        lastDecreaseNanos = now;
+      }
+      return;
+    }
+    if (full) {
+      batchSize = Math.min(settings.maxBatchSize(), batchSize + 1);
+    }
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  /**
+   * poll 설정 (batchSize 는 시작 값)
+   */
+  record Settings(long pollTimeoutMs, int batchSize, int minBatchSize, int maxBatchSize,
+      long targetLatencyMs, long errorBackoffMs) {
+  }
+}
@@ -0,0 +1,203 @@
+package com.example.messagesender.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * consumer 이름 기준 shard 배정 + 구독(StreamPoller) 관리
+ * - heartbeat-ms 마다 members ZSET(score = 마지막 heartbeat ms)에 consumer 이름 갱신, 3 * heartbeat-ms 동안 갱신 없는 멤버는 제거
+ * - 살아있는 멤버를 이름순으로 정렬해서 shard i 는 (i % 멤버 수) 번째 멤버가 담당 (멤버가 shard 보다 많으면 멤버 k 가 k % N 번 shard)
+ * - 배정이 바뀌면 빠진 shard poller 는 중지, 새 shard 는 poller 시작 (중지 시 남은 PENDING 은 PendingMessageReclaimer 가 재처리)
+ * - 종료된 poller 는 다음 주기에 다시 시작
+ * - 코드/상태 ID 초기화(ApplicationReadyEvent) 이후에 구독 시작
+ */
+@Slf4j
+@Component
+public class StreamShardAssignment {
+
+  private final MessageStreamConsumer messageStreamConsumer;
+  private final StringRedisTemplate redisTemplate;
+  private final StreamShards streamShards;
+  private final Counter pausedCounter;
+  private final DistributionSummary recordsSummary;
+
+  @Value("${redis.stream.message.group:message-group}")
+  private String group;
+
+  @Value("${redis.stream.shard.members-key:message-stream:members}")
+  private String membersKey;
+
+  @Value("${redis.stream.shard.heartbeat-ms:5000}")
+  private long heartbeatMs;
+
+  @Value("${redis.stream.message.poll-timeout-ms:500}")
+  private long pollTimeoutMs;
+
+  // poll batch 시작 값 (min ~ max 사이에서 처리 시간에 따라 조절)
+  @Value("${redis.stream.message.batch-size:10}")
+  private int batchSize;
+
+  @Value("${redis.stream.message.min-batch-size:1}")
+  private int minBatchSize;
+
+  @Value("${redis.stream.message.max-batch-size:100}")
+  private int maxBatchSize;
+
+  // worker 처리 시간 EWMA 가 이 값을 넘으면 batch 를 줄임
+  @Value("${redis.stream.message.target-latency-ms:200}")
+  private long targetLatencyMs;
+
+  @Value("${redis.stream.message.error-backoff-ms:1000}")
+  private long errorBackoffMs;
+
+  // shard key -> poller (스케줄러 스레드 / 종료 시에만 변경)
+  private final Map<String, StreamPoller> pollers = new HashMap<>();
+  private ScheduledExecutorService scheduler;
+
+  public StreamShardAssignment(MessageStreamConsumer messageStreamConsumer,
+      StringRedisTemplate redisTemplate, StreamShards streamShards,
+      MeterRegistry meterRegistry) {
+    this.messageStreamConsumer = messageStreamConsumer;
+    this.redisTemplate = redisTemplate;
+    this.streamShards = streamShards;
+    this.pausedCounter = Counter.builder("message.stream.poll.paused")
+        .description("credit 이 없어서 poll 을 건너뛴 횟수")
+        .register(meterRegistry);
+    this.recordsSummary = DistributionSummary.builder("message.stream.poll.records")
+        .description("poll 1회에 가져온 record 수")
+        .register(meterRegistry);
+  }
+
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  @EventListener(ApplicationReadyEvent.class)
+  synchronized void start() {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r);
+      t.setName("stream-shard-" + t.getId());
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::rebalanceSafely, 0, heartbeatMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  synchronized void stop() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdown();
+    pollers.values().forEach(StreamPoller::stop);
+    pollers.clear();
+    try {
+      // 다른 노드가 다음 heartbeat 에서 바로 shard 를 가져가도록
+      redisTemplate.opsForZSet().remove(membersKey, messageStreamConsumer.consumerName());
+    } catch (Exception e) {
+      log.warn("[WARN] shard member remove failed", e);
+    }
+  }
+
+  private void rebalanceSafely() {
+    try {
+      assign(assignedShards());
+    } catch (Exception e) { // Redis 장애 시 기존 배정 유지
+      log.error("[FAIL] stream shard rebalance failed", e);
+    }
+  }
+
+  private Set<String> assignedShards() {
+    String me = messageStreamConsumer.consumerName();
+    long now = System.currentTimeMillis();
+    redisTemplate.opsForZSet().add(membersKey, me, now);
+    redisTemplate.opsForZSet().removeRangeByScore(membersKey, 0, now - heartbeatMs * 3);
+
+    Set<String> alive = redisTemplate.opsForZSet().range(membersKey, 0, -1);
+    List<String> members = new ArrayList<>(alive == null ? Set.of(me) : alive);
+    if (!members.contains(me)) {
+      members.add(me);
+    }
+    members.sort(null);
+
+    List<String> keys = streamShards.keys();
+    int memberCount = members.size();
+    int index = members.indexOf(me);
+    Set<String> assigned = new HashSet<>();
+    if (memberCount > keys.size()) {
+      assigned.add(keys.get(index % keys.size()));
+      return assigned;
+    }
+    for (int shard = index; shard < keys.size(); shard += memberCount) {
+      assigned.add(keys.get(shard));
+    }
+    return assigned;
+  }
+
+  private synchronized void assign(Set<String> assigned) {
+    if (scheduler == null || scheduler.isShutdown()) {
+      return;
+    }
+    Iterator<Map.Entry<String, StreamPoller>> it = pollers.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, StreamPoller> entry = it.next();
+      if (!assigned.contains(entry.getKey())) {
+        entry.getValue().stop();
+        it.remove();
+        log.info("[SHARD] released stream shard. key={}", entry.getKey());
+      } else if (!entry.getValue().isActive()) {
+        entry.getValue().stop();
+        it.remove();
+        log.warn("[SHARD] stream poller stopped, restarting. key={}", entry.getKey());
+      }
+    }
+
+    StreamPoller.Settings settings = new StreamPoller.Settings(pollTimeoutMs, batchSize,
+        minBatchSize, maxBatchSize, targetLatencyMs, errorBackoffMs);
+    for (String key : assigned) {
+      if (pollers.containsKey(key)) {
+        continue;
+      }
+      StreamPoller poller = new StreamPoller(redisTemplate, messageStreamConsumer, key, group,
+          settings, pausedCounter, recordsSummary);
+      pollers.put(key, poller);
+      poller.start();
+      log.info("[SHARD] subscribed stream shard. key={}", key);
+    }
+  }
+
+  /**
+   * 현재 구독 중인 shard key (모니터링용)
+   */
+  public synchronized Set<String> subscribedShards() {
+    return Set.copyOf(pollers.keySet());
+  }
+
+  /**
+   * 구독 중인 shard 의 현재 poll batch 크기 합 (모니터링용)
+   */
+  public synchronized int totalBatchSize() {
+    return pollers.values().stream().mapToInt(StreamPoller::batchSize).sum();
+  }
+}
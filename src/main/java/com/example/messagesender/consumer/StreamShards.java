@@ -0,0 +1,89 @@
+package com.example.messagesender.consumer;
+
+import com.example.messagesender.worker.MessageLane;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지 stream shard key 목록
+ * - shards=1 (기본): 기존과 같은 단일 key (redis.stream.message.key)
+ * - shards=N: {key}:{0} ~ {key}:{N-1} (hash tag 로 cluster 에서 shard 별로 다른 slot 에 분산)
+ * - lanes (예: billing,retry,notice): lane 전용 stream {key}:{lane} (shards=N 이면 {key}:{lane}:{i}) 을 추가로 구독
+ *   - lane stream 은 구독(poll 스레드)과 처리 중 한도가 분리되어 있어서 NOTICE 대량 발행이 BILLING 읽기를 막지 않음
+ *   - 기본 key 로 들어온 record 는 purpose/status 로 lane 을 분류
+ * - producer 는 messageSendResultId % N 번 shard 에 XADD (keyFor)
+ */
+@Component
+public class StreamShards {
+
+  private final List<String> keys;
+  private final List<String> baseKeys;
+  private final Map<MessageLane, List<String>> laneKeys = new EnumMap<>(MessageLane.class);
+  private final Map<String, MessageLane> laneByKey = new HashMap<>();
+
+  public StreamShards(@Value("${redis.stream.message.key:message-stream}") String streamKey,
+      @Value("${redis.stream.message.shards:1}") int shardCount,
+      @Value("${redis.stream.message.lanes:}") String lanes) {
+    this.baseKeys = shardKeys(streamKey, shardCount);
+
+    List<String> all = new ArrayList<>(baseKeys);
+    Arrays.stream(lanes.split(",")).filter(s -> !s.isBlank()).map(MessageLane::fromKey)
+        .distinct().forEach(lane -> {
+          List<String> shardKeys = shardKeys(streamKey + ":" + lane.key(), shardCount);
+          laneKeys.put(lane, shardKeys);
+          shardKeys.forEach(key -> laneByKey.put(key, lane));
+          all.addAll(shardKeys);
+        });
+    this.keys = Collections.unmodifiableList(all);
+  }
+
+  private static List<String> shardKeys(String prefix, int shardCount) {
+    return shardCount <= 1
+        ? List.of(prefix)
+        : IntStream.range(0, shardCount).mapToObj(i -> prefix + ":{" + i + "}").toList();
+  }
+
+  /**
+   * 구독 대상 전체 key (기본 shard + lane shard)
+   */
+  public List<String> keys() {
+    return keys;
+  }
+
+  public int size() {
+    return keys.size();
+  }
+
+  /**
+   * lane 전용 stream 이면 해당 lane, 기본 stream 이면 null
+   */
+  public MessageLane laneOf(String streamKey) {
+    return laneByKey.get(streamKey);
+  }
+
+  /**
+   * messageSendResultId 가 들어갈 shard key
+   */
+  public String keyFor(long messageSendResultId) {
+    return shardOf(baseKeys, messageSendResultId);
+  }
+
+  /**
+   * lane 전용 stream 이 설정되어 있으면 그 shard key, 아니면 기본 shard key
+   */
+  public String keyFor(long messageSendResultId, MessageLane lane) {
+    return shardOf(laneKeys.getOrDefault(lane, baseKeys), messageSendResultId);
+  }
+
+  private static String shardOf(List<String> shardKeys, long messageSendResultId) {
+    return shardKeys.get((int) Math.floorMod(messageSendResultId, (long) shardKeys.size()));
+  }
+}
@@ -64,6 +64,10 @@ public class MessageSendResult {
   @Column(name = "processed_at")
   private LocalDateTime processedAt;
 
+  // 마지막 선점 시각 (PROCESSING lease 기준 + 확정 UPDATE 의 선점 token, processedAt 은 확정 시각만 기록)
+  @Column(name = "claimed_at")
+  private LocalDateTime claimedAt;
+
   @Column(name = "retry_count", nullable = false)
   private int retryCount;
 
@@ -11,6 +11,9 @@ public class MessageRequestDto {
   private String channel;
   private String purpose;
 
+  // PEL 재처리(XCLAIM)로 다시 가져온 record 인지
+  private boolean redelivered;
+
   public MessageRequestDto(Long id, String channel, String purpose) {
     this.messageSendResultId = id;
     this.channel = channel;
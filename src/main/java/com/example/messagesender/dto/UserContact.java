@@ -0,0 +1,15 @@
+package com.example.messagesender.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 발송에 필요한 사용자 연락처 필드만 담은 조회 전용 객체 (캐시 보관용)
+@Getter
+@AllArgsConstructor
+public class UserContact {
+
+  private final Long id;
+  private final String name;
+  private final String phone;
+  private final String email;
+}
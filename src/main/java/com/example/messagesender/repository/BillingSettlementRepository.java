@@ -1,5 +1,7 @@
 package com.example.messagesender.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,4 +16,8 @@ public interface BillingSettlementRepository extends JpaRepository<BillingSettle
     Optional<String> findDetailJsonById(@Param("id") Long id);
     Optional<BillingSettlement> findByUserIdAndTargetMonth(Long userId, String targetMonth);
 
+    // 예약 발송 batch 선조회용: WHERE target_month = ? AND user_id IN (...)
+    List<BillingSettlement> findAllByTargetMonthAndUserIdIn(String targetMonth,
+        Collection<Long> userIds);
+
 }
@@ -1,6 +1,10 @@
 package com.example.messagesender.repository;
 
 import com.example.messagesender.domain.message.MessageSendResult;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,17 +12,76 @@ import org.springframework.data.repository.query.Param;
 
 public interface MessageSendResultRepository extends JpaRepository<MessageSendResult, Long> {
 
-  // 일반 선점: WAITING/FAILED(processedAt null) -> PROCESSING
+  // 배치 선점 대상 행의 선점 전 상태 (처리 실패 시 원복용, PROCESSING 이면 claimedAt = 선점 시각)
+  interface ClaimCandidate {
+    Long getId();
+    Long getStatusId();
+    Long getChannelId();
+    Integer getRetryCount();
+    LocalDateTime getProcessedAt();
+    LocalDateTime getClaimedAt();
+  }
+
+  // 발송 컨텍스트: send result + 채널 코드 + 템플릿 purpose 코드 + 예약 대상월 (엔티티/연관관계 로딩 없이 조회 1회)
+  interface SendContext {
+    Long getId();
+    Long getStatusId();
+    Long getChannelId();
+    String getChannelCode();
+    Long getUserId();
+    Long getTemplateId();
+    String getPurposeCode();
+    Long getReservationId();
+    String getTargetMonth();
+    Integer getRetryCount();
+    LocalDateTime getClaimedAt(); // PROCESSING 이면 선점 시각 (확정 UPDATE 의 선점 token)
+  }
+
+  /**
+   * 단건 선점 대상 행 잠금 + 발송 컨텍스트 조회 (선점 UPDATE 와 같은 트랜잭션에서 호출)
+   * - 잠금은 message_send_results 행만: 코드/템플릿/예약 값은 스칼라 서브쿼리로 읽음
+   *   (JOIN 에 FOR UPDATE 를 걸면 MySQL 은 조인된 codes 행까지 잠가서 SKIP LOCKED 가 서로를 건너뜀,
+   *    FOR UPDATE OF 는 H2(부하 테스트)에서 지원하지 않음)
+   * - 다른 consumer 가 잠그고 있는 행은 기다리지 않고 빈 결과 (SKIP LOCKED)
+   */
+  @Query(value = """
+          SELECT m.id               AS id,
+                 m.status_id        AS statusId,
+                 m.channel_id       AS channelId,
+                 (SELECT ch.code
+                    FROM codes ch
+                   WHERE ch.id = m.channel_id) AS channelCode,
+                 m.user_id          AS userId,
+                 m.template_id      AS templateId,
+                 (SELECT pu.code
+                    FROM message_templates t
+                    JOIN codes pu ON pu.id = t.purpose_type_id
+                   WHERE t.id = m.template_id) AS purposeCode,
+                 m.reserved_send_id AS reservationId,
+                 (SELECT r.target_month
+                    FROM message_reservations r
+                   WHERE r.id = m.reserved_send_id) AS targetMonth,
+                 m.retry_count      AS retryCount,
+                 m.claimed_at       AS claimedAt
+            FROM message_send_results m
+           WHERE m.id = :id
+             FOR UPDATE SKIP LOCKED
+      """, nativeQuery = true)
+  Optional<SendContext> lockForClaim(@Param("id") Long id);
+
+  // 일반 선점: WAITING(processedAt null) -> PROCESSING (claimedAt = 선점 시각, lease/확정 token)
   @Modifying
   @Query("""
           update MessageSendResult m
-             set m.status.id = :processingStatusId
+             set m.status.id = :processingStatusId,
+                 m.claimedAt = :claimedAt
            where m.id = :id
              and m.processedAt is null
              and m.status.id = :waitingStatusId
       """)
   int markProcessing(@Param("id") Long id, @Param("processingStatusId") Long processingStatusId,
-      @Param("waitingStatusId") Long waitingStatusId);
+      @Param("waitingStatusId") Long waitingStatusId,
+      @Param("claimedAt") LocalDateTime claimedAt);
 
   /**
    * FAILED 재시도 선점 (EMAIL 재시도 전용) 정책: - retryCount 0/1/2 까지는 EMAIL 재시도 - retryCount=2에서 실패하면
@@ -30,7 +93,8 @@ public interface MessageSendResultRepository extends JpaRepository<MessageSendRe
           update MessageSendResult m
              set m.status.id   = :processingStatusId,
                  m.retryCount  = m.retryCount + 1,
-                 m.processedAt = null
+                 m.processedAt = null,
+                 m.claimedAt   = :claimedAt
            where m.id = :id
              and m.status.id = :failedStatusId
              and m.retryCount < :maxEmailRetryCount
@@ -45,17 +109,19 @@ public interface MessageSendResultRepository extends JpaRepository<MessageSendRe
       @Param("processingStatusId") Long processingStatusId,
       @Param("failedStatusId") Long failedStatusId,
       @Param("maxEmailRetryCount") int maxEmailRetryCount, // 2
-      @Param("billingPurposeTypeId") Long billingPurposeTypeId // BILLING purpose_type_id
+      @Param("billingPurposeTypeId") Long billingPurposeTypeId, // BILLING purpose_type_id
+      @Param("claimedAt") LocalDateTime claimedAt
   );
 
   // EXCEEDED(SMS fallback) 선점 - retryCount는 그대로 유지 (2 유지) - channel을 SMS로 변경해서 DB에 기록 -
-  // processedAt을 null로 되돌려 "처리중"으로 만들고, 이후 markSuccess에서 확정
+  // processedAt을 null로 되돌려 "처리중"으로 만들고(claimedAt = 선점 시각), 이후 markSuccess에서 확정
   // BILLING 만 허용
   @Modifying
   @Query("""
           update MessageSendResult m
              set m.status.id   = :processingStatusId,
                  m.processedAt = null,
+                 m.claimedAt   = :claimedAt,
                  m.channel.id  = :smsChannelId
            where m.id = :id
              and m.status.id = :exceededStatusId
@@ -69,23 +135,46 @@ public interface MessageSendResultRepository extends JpaRepository<MessageSendRe
   int markExceededProcessing(@Param("id") Long id,
       @Param("processingStatusId") Long processingStatusId,
       @Param("exceededStatusId") Long exceededStatusId, @Param("smsChannelId") Long smsChannelId,
-      @Param("billingPurposeTypeId") Long billingPurposeTypeId // BILLING purpose_type_id
+      @Param("billingPurposeTypeId") Long billingPurposeTypeId, // BILLING purpose_type_id
+      @Param("claimedAt") LocalDateTime claimedAt
   );
 
-  // 성공 확정: PROCESSING -> SUCCESS
+  /**
+   * lease 만료 PROCESSING 재선점 (선점 후 확정 전에 노드가 죽었거나 확정 flush 가 실패한 행)
+   * - claimedAt(선점 시각)이 leaseCutoff 이전이면 선점 시각만 갱신, 채널/재시도 횟수는 그대로
+   *   -> 이전 선점자의 늦은 확정은 claimedAt 이 달라서 0건 (중복 확정/발송 결과 덮어쓰기 방지)
+   * - claimedAt 이 null 인 PROCESSING 은 선점 시각을 기록하기 전 버전에서 선점된 행이라 만료로 봄
+   */
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.claimedAt = :claimedAt
+           where m.id = :id
+             and m.status.id = :processingStatusId
+             and m.processedAt is null
+             and (m.claimedAt is null or m.claimedAt < :leaseCutoff)
+      """)
+  int markReclaimProcessing(@Param("id") Long id,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("leaseCutoff") LocalDateTime leaseCutoff,
+      @Param("claimedAt") LocalDateTime claimedAt);
+
+  // 성공 확정: PROCESSING -> SUCCESS (내가 선점한 행만: claimedAt = 선점 token)
   @Modifying
   @Query("""
           update MessageSendResult m
              set m.status.id = :successStatusId,
                  m.processedAt = CURRENT_TIMESTAMP
            where m.id = :id
-             and m.status.id = :processingStatusId
              and m.processedAt is null
+             and m.status.id = :processingStatusId
+             and m.claimedAt = :claimedAt
       """)
   int markSuccess(
       @Param("id") Long id,
       @Param("processingStatusId") Long processingStatusId,
-      @Param("successStatusId") Long successStatusId);
+      @Param("successStatusId") Long successStatusId,
+      @Param("claimedAt") LocalDateTime claimedAt);
 
   // 실패 확정: PROCESSING -> (FAILED or EXCEEDED)
   // - retryCount >= maxEmailRetryCount(=2) 인 상태에서 실패하면 EXCEEDED(11) - 그 외는 FAILED(9)
@@ -98,13 +187,221 @@ public interface MessageSendResultRepository extends JpaRepository<MessageSendRe
                                end,
                  m.processedAt = CURRENT_TIMESTAMP
            where m.id = :id
-             and m.status.id = :processingStatusId
              and m.processedAt is null
+             and m.status.id = :processingStatusId
+             and m.claimedAt = :claimedAt
       """)
   int markFailedOrExceeded(@Param("id") Long id,
       @Param("processingStatusId") Long processingStatusId,
       @Param("failedStatusId") Long failedStatusId,
       @Param("exceededStatusId") Long exceededStatusId,
-      @Param("maxEmailRetryCount") int maxEmailRetryCount // 2
+      @Param("maxEmailRetryCount") int maxEmailRetryCount, // 2
+      @Param("claimedAt") LocalDateTime claimedAt
+  );
+
+  // 성공 확정(일괄): PROCESSING -> SUCCESS (같은 선점 token 의 행끼리 묶어서 호출)
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.status.id = :successStatusId,
+                 m.processedAt = CURRENT_TIMESTAMP
+           where m.id in :ids
+             and m.processedAt is null
+             and m.status.id = :processingStatusId
+             and m.claimedAt = :claimedAt
+      """)
+  int markSuccessAll(
+      @Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("successStatusId") Long successStatusId,
+      @Param("claimedAt") LocalDateTime claimedAt);
+
+  // 실패 확정(일괄): PROCESSING -> (FAILED or EXCEEDED), 판정 기준은 markFailedOrExceeded 와 동일
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.status.id = case
+                                 when m.retryCount >= :maxEmailRetryCount then :exceededStatusId
+                                 else :failedStatusId
+                               end,
+                 m.processedAt = CURRENT_TIMESTAMP
+           where m.id in :ids
+             and m.processedAt is null
+             and m.status.id = :processingStatusId
+             and m.claimedAt = :claimedAt
+      """)
+  int markFailedOrExceededAll(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("failedStatusId") Long failedStatusId,
+      @Param("exceededStatusId") Long exceededStatusId,
+      @Param("maxEmailRetryCount") int maxEmailRetryCount, // 2
+      @Param("claimedAt") LocalDateTime claimedAt
   );
+
+  // ===== 배치 선점 (stream batch 단위) =====
+
+  // 배치 선점 대상 행 잠금: 같은 트랜잭션 안의 상태별 UPDATE 결과가 다른 consumer와 섞이지 않도록 한다.
+  @Query(value = """
+          SELECT id           AS id,
+                 status_id    AS statusId,
+                 channel_id   AS channelId,
+                 retry_count  AS retryCount,
+                 processed_at AS processedAt,
+                 claimed_at   AS claimedAt
+            FROM message_send_results
+           WHERE id IN (:ids)
+             AND status_id IN (:claimableStatusIds)
+             FOR UPDATE
+      """, nativeQuery = true)
+  List<ClaimCandidate> lockClaimCandidates(@Param("ids") Collection<Long> ids,
+      @Param("claimableStatusIds") Collection<Long> claimableStatusIds);
+
+  // 일반 선점(배치): WAITING(processedAt null) -> PROCESSING (claimedAt = 선점 시각)
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.status.id = :processingStatusId,
+                 m.claimedAt = :claimedAt
+           where m.id in :ids
+             and m.processedAt is null
+             and m.status.id = :waitingStatusId
+      """)
+  int markProcessingAll(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("waitingStatusId") Long waitingStatusId,
+      @Param("claimedAt") LocalDateTime claimedAt);
+
+  // FAILED 재시도 선점(배치) - 조건은 markRetryProcessing 과 동일
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.status.id   = :processingStatusId,
+                 m.retryCount  = m.retryCount + 1,
+                 m.processedAt = null,
+                 m.claimedAt   = :claimedAt
+           where m.id in :ids
+             and m.status.id = :failedStatusId
+             and m.retryCount < :maxEmailRetryCount
+             and exists (
+                 select 1
+                   from MessageTemplate t
+                  where t.id = m.template.id
+                    and t.purposeType.id = :billingPurposeTypeId
+             )
+      """)
+  int markRetryProcessingAll(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("failedStatusId") Long failedStatusId,
+      @Param("maxEmailRetryCount") int maxEmailRetryCount,
+      @Param("billingPurposeTypeId") Long billingPurposeTypeId,
+      @Param("claimedAt") LocalDateTime claimedAt);
+
+  // EXCEEDED(SMS fallback) 선점(배치) - 조건은 markExceededProcessing 과 동일
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.status.id   = :processingStatusId,
+                 m.processedAt = null,
+                 m.claimedAt   = :claimedAt,
+                 m.channel.id  = :smsChannelId
+           where m.id in :ids
+             and m.status.id = :exceededStatusId
+             and exists (
+                 select 1
+                   from MessageTemplate t
+                  where t.id = m.template.id
+                    and t.purposeType.id = :billingPurposeTypeId
+             )
+      """)
+  int markExceededProcessingAll(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("exceededStatusId") Long exceededStatusId, @Param("smsChannelId") Long smsChannelId,
+      @Param("billingPurposeTypeId") Long billingPurposeTypeId,
+      @Param("claimedAt") LocalDateTime claimedAt);
+
+  // lease 만료 PROCESSING 재선점(배치) - 조건은 markReclaimProcessing 과 동일
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.claimedAt = :claimedAt
+           where m.id in :ids
+             and m.status.id = :processingStatusId
+             and m.processedAt is null
+             and (m.claimedAt is null or m.claimedAt < :leaseCutoff)
+      """)
+  int markReclaimProcessingAll(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("leaseCutoff") LocalDateTime leaseCutoff,
+      @Param("claimedAt") LocalDateTime claimedAt);
+
+  // 실제로 선점된 행만 발송 컨텍스트로 재조회 (잠금 보유 중이므로 PROCESSING 인 행 = 이번 배치가 선점한 행)
+  @Query(value = """
+          SELECT m.id               AS id,
+                 m.status_id        AS statusId,
+                 m.channel_id       AS channelId,
+                 ch.code            AS channelCode,
+                 m.user_id          AS userId,
+                 m.template_id      AS templateId,
+                 pu.code            AS purposeCode,
+                 m.reserved_send_id AS reservationId,
+                 r.target_month     AS targetMonth,
+                 m.retry_count      AS retryCount,
+                 m.claimed_at       AS claimedAt
+            FROM message_send_results m
+            JOIN codes ch ON ch.id = m.channel_id
+            JOIN message_templates t ON t.id = m.template_id
+            JOIN codes pu ON pu.id = t.purpose_type_id
+            JOIN message_reservations r ON r.id = m.reserved_send_id
+           WHERE m.id IN (:ids)
+             AND m.status_id = :processingStatusId
+      """, nativeQuery = true)
+  List<SendContext> findClaimed(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId);
+
+  // 확정 전 PROCESSING 행의 발송 컨텍스트 (durable 지연 확정 시 재치환용, 잠금 없음 -> 선점 token 은 호출 측에서 비교)
+  @Query(value = """
+          SELECT m.id               AS id,
+                 m.status_id        AS statusId,
+                 m.channel_id       AS channelId,
+                 ch.code            AS channelCode,
+                 m.user_id          AS userId,
+                 m.template_id      AS templateId,
+                 pu.code            AS purposeCode,
+                 m.reserved_send_id AS reservationId,
+                 r.target_month     AS targetMonth,
+                 m.retry_count      AS retryCount,
+                 m.claimed_at       AS claimedAt
+            FROM message_send_results m
+            JOIN codes ch ON ch.id = m.channel_id
+            JOIN message_templates t ON t.id = m.template_id
+            JOIN codes pu ON pu.id = t.purpose_type_id
+            JOIN message_reservations r ON r.id = m.reserved_send_id
+           WHERE m.id IN (:ids)
+             AND m.status_id = :processingStatusId
+             AND m.processed_at IS NULL
+      """, nativeQuery = true)
+  List<SendContext> findInFlight(@Param("ids") Collection<Long> ids,
+      @Param("processingStatusId") Long processingStatusId);
+
+  // 선점 원복: 배치 선점 후 개별 처리 실패 시 선점 전 상태로 되돌린다 (stream pending 유지와 짝)
+  @Modifying
+  @Query("""
+          update MessageSendResult m
+             set m.status.id   = :previousStatusId,
+                 m.channel.id  = :previousChannelId,
+                 m.retryCount  = :previousRetryCount,
+                 m.processedAt = :previousProcessedAt,
+                 m.claimedAt   = :previousClaimedAt
+           where m.id = :id
+             and m.status.id = :processingStatusId
+             and m.claimedAt = :claimedAt
+      """)
+  int releaseClaim(@Param("id") Long id,
+      @Param("processingStatusId") Long processingStatusId,
+      @Param("previousStatusId") Long previousStatusId,
+      @Param("previousChannelId") Long previousChannelId,
+      @Param("previousRetryCount") int previousRetryCount,
+      @Param("previousProcessedAt") LocalDateTime previousProcessedAt,
+      @Param("previousClaimedAt") LocalDateTime previousClaimedAt,
+      @Param("claimedAt") LocalDateTime claimedAt);
 }
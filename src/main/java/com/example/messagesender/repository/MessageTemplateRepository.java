@@ -1,8 +1,20 @@
 package com.example.messagesender.repository;
 
 import com.example.messagesender.domain.message.MessageTemplate;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MessageTemplateRepository extends JpaRepository<MessageTemplate, Long> {
 
+  // 템플릿 캐시 적재용: 채널/목적 코드까지 한 번에 조회 (lazy proxy 초기화 방지)
+  @Query("""
+          select t
+            from MessageTemplate t
+            join fetch t.channelType
+            join fetch t.purposeType
+           where t.id = :id
+      """)
+  Optional<MessageTemplate> findWithCodesById(@Param("id") Long id);
 }
@@ -1,10 +1,15 @@
 package com.example.messagesender.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.messagesender.domain.user.User;
+import com.example.messagesender.dto.UserContact;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -15,4 +20,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
   boolean existsByEmail(String email);
 
   boolean existsByPhone(String phone);
+
+  // 발송용 연락처만 일괄 조회 (엔티티를 영속성 컨텍스트에 올리지 않음)
+  @Query("""
+          select new com.example.messagesender.dto.UserContact(u.id, u.name, u.phone, u.email)
+            from User u
+           where u.id in :ids
+      """)
+  List<UserContact> findContactsByIdIn(@Param("ids") Collection<Long> ids);
 }
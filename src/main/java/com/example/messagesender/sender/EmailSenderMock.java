@@ -1,44 +1,19 @@
 package com.example.messagesender.sender;
 
 import com.example.messagesender.common.code.enums.MessageChannel;
-import com.example.messagesender.dto.MessageRequestDto;
-import com.example.messagesender.dto.send.EmailSendRequest;
-import com.example.messagesender.dto.send.SendRequest;
-import com.example.messagesender.dto.send.SendResult;
-import lombok.extern.slf4j.Slf4j;
+import com.example.messagesender.sender.gateway.SimulatedGatewayProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ScheduledExecutorService;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ThreadLocalRandom;
-
-@Slf4j
+// EMAIL 발송 Mock - 기본 99% 성공, 응답 지연/실패/throttle/연결 수는 sender.mock.email.* (SimulatedGateway)
 @Component
-public class EmailSenderMock implements MessageSender {
-
-  @Override
-  public MessageChannel channel() {
-    return MessageChannel.EMAIL;
-  }
-
-  @Override
-  public SendResult mockSend(SendRequest request) {
-    EmailSendRequest emailRequest = (EmailSendRequest) request;
-    log.info(
-        "[EMAIL] title='{}', body='{}', to='{}'",
-        emailRequest.getTitle(),
-        emailRequest.getContent(),
-        emailRequest.getEmail()
-    );
-    return this.send(request);
-  }
-
-  @Override
-  public SendResult send(SendRequest request) {
-    // 0~99 중 0~98 성공(99%), 99 실패(1%)
-    int r = ThreadLocalRandom.current().nextInt(100);
+public class EmailSenderMock extends SimulatedMessageSender {
 
-    if (r < 99) {
-      return SendResult.ok();
-    }
-    return SendResult.fail("EMAIL_SEND_FAILED");
+  public EmailSenderMock(SimulatedGatewayProperties gatewayProperties,
+      ScheduledExecutorService senderMockScheduler, MeterRegistry meterRegistry,
+      SendLog sendLog) {
+    super(MessageChannel.EMAIL, gatewayProperties.getEmail(), "EMAIL_SEND_FAILED", senderMockScheduler,
+        meterRegistry, sendLog);
   }
 }
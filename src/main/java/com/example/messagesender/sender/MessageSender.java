@@ -4,6 +4,9 @@ import com.example.messagesender.common.code.enums.MessageChannel;
 import com.example.messagesender.dto.MessageRequestDto;
 import com.example.messagesender.dto.send.SendRequest;
 import com.example.messagesender.dto.send.SendResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 // 채널별 발송 구현체의 공통 인터페이스 - Consumer/Worker 가 채널에 맞는 Sender 를 선택해서 호출한다.
 // 성공/실패 결과만 반환하고, 로그/DB 업데이트/재시도 판단은 Worker 에서 처리한다.
@@ -14,4 +17,28 @@ public interface MessageSender {
   SendResult mockSend(SendRequest request);
 
   SendResult send(SendRequest request);
+
+  /**
+   * 비동기 발송 - 게이트웨이 응답을 기다리는 동안 호출 스레드를 점유하지 않음
+   * - 기본 구현은 호출 스레드에서 mockSend 실행 후 완료된 future 반환
+   */
+  default CompletableFuture<SendResult> sendAsync(SendRequest request) {
+    try {
+      return CompletableFuture.completedFuture(mockSend(request));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * 묶음 발송 - 요청 순서대로 건별 결과 (게이트웨이 1회 호출로 여러 수신자 발송)
+   * - 기본 구현은 건별 mockSend
+   */
+  default List<SendResult> sendBatch(List<? extends SendRequest> requests) {
+    List<SendResult> results = new ArrayList<>(requests.size());
+    for (SendRequest request : requests) {
+      results.add(mockSend(request));
+    }
+    return results;
+  }
 }
@@ -0,0 +1,92 @@
+package com.example.messagesender.sender;
+
+import com.example.messagesender.common.code.enums.MessageChannel;
+import com.example.messagesender.dto.send.EmailSendRequest;
+import com.example.messagesender.dto.send.SendRequest;
+import com.example.messagesender.dto.send.SendResult;
+import com.example.messagesender.dto.send.SmsSendRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 발송 경로 로그 (logger 이름 message.send, logback-spring.xml 에서 비동기 appender 로 출력)
+ * - 건별로 id / 채널 / 결과 / 지연만 key=value 로 기록 (본문, 수신자는 기록하지 않음)
+ * - payload-sample-rate 확률로 본문과 마스킹한 수신자를 함께 기록 (디버깅용, 기본 0)
+ */
+@Component
+public class SendLog {
+
+  private static final Logger log = LoggerFactory.getLogger("message.send");
+
+  private final double payloadSampleRate;
+
+  public SendLog(@Value("${sender.log.payload-sample-rate:0}") double payloadSampleRate) {
+    this.payloadSampleRate = payloadSampleRate;
+  }
+
+  /**
+   * @param error 발송 예외 (없으면 null)
+   */
+  public void sent(MessageChannel channel, SendRequest request, SendResult result,
+      Throwable error, long startedNanos) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+    long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    String status = status(result, error);
+
+    if (payloadSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < payloadSampleRate) {
+      log.info("send id={} channel={} status={} latencyMs={} payload={}",
+          request.getMessageSendResultId(), channel, status, latencyMs, payload(request));
+      return;
+    }
+    log.info("send id={} channel={} status={} latencyMs={}",
+        request.getMessageSendResultId(), channel, status, latencyMs);
+  }
+
+  private static String status(SendResult result, Throwable error) {
+    if (error != null) {
+      return "ERROR:" + error.getClass().getSimpleName();
+    }
+    if (result == null) {
+      return "UNKNOWN";
+    }
+    return result.isSuccess() ? "OK" : "FAIL:" + result.getErrorMessage();
+  }
+
+  private static String payload(SendRequest request) {
+    if (request instanceof EmailSendRequest email) {
+      return "{title='" + email.getTitle() + "', body='" + email.getContent() + "', to='"
+          + maskEmail(email.getEmail()) + "'}";
+    }
+    if (request instanceof SmsSendRequest sms) {
+      return "{body='" + sms.getContent() + "', to='" + maskPhone(sms.getPhone()) + "'}";
+    }
+    return "{body='" + request.getContent() + "'}";
+  }
+
+  // ab***@example.com
+  static String maskEmail(String email) {
+    if (email == null) {
+      return null;
+    }
+    int at = email.indexOf('@');
+    if (at <= 0) {
+      return "***";
+    }
+    return email.substring(0, Math.min(2, at)) + "***" + email.substring(at);
+  }
+
+  // ***-1234
+  static String maskPhone(String phone) {
+    if (phone == null) {
+      return null;
+    }
+    String digits = phone.replaceAll("[^0-9]", "");
+    return digits.length() <= 4 ? "***" : "***-" + digits.substring(digits.length() - 4);
+  }
+}
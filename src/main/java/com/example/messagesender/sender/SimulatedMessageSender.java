@@ -0,0 +1,73 @@
+package com.example.messagesender.sender;
+
+import com.example.messagesender.common.code.enums.MessageChannel;
+import com.example.messagesender.dto.send.SendRequest;
+import com.example.messagesender.dto.send.SendResult;
+import com.example.messagesender.sender.gateway.SimulatedGateway;
+import com.example.messagesender.sender.gateway.SimulatedGatewayProperties.Profile;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+// 가상 게이트웨이(SimulatedGateway) 기반 발송 Mock 공통 구현 - 채널/설정 프로필/실패 코드만 하위 클래스에서 정한다.
+public abstract class SimulatedMessageSender implements MessageSender {
+
+  private final MessageChannel channel;
+  private final SimulatedGateway gateway;
+  private final SendLog sendLog;
+
+  protected SimulatedMessageSender(MessageChannel channel, Profile profile, String failureCode,
+      ScheduledExecutorService senderMockScheduler, MeterRegistry meterRegistry,
+      SendLog sendLog) {
+    this.channel = channel;
+    this.sendLog = sendLog;
+    this.gateway = new SimulatedGateway(profile, failureCode, senderMockScheduler);
+    Gauge.builder("message.sender.mock.waiting", gateway, SimulatedGateway::waitingCount)
+        .description("가상 게이트웨이 연결 대기 중인 호출 수")
+        .tag("channel", channel.name().toLowerCase(Locale.ROOT))
+        .register(meterRegistry);
+  }
+
+  @Override
+  public MessageChannel channel() {
+    return channel;
+  }
+
+  @Override
+  public SendResult mockSend(SendRequest request) {
+    long started = System.nanoTime();
+    try {
+      SendResult result = this.send(request);
+      sendLog.sent(channel, request, result, null, started);
+      return result;
+    } catch (RuntimeException e) {
+      sendLog.sent(channel, request, null, e, started);
+      throw e;
+    }
+  }
+
+  @Override
+  public SendResult send(SendRequest request) {
+    return gateway.send();
+  }
+
+  @Override
+  public CompletableFuture<SendResult> sendAsync(SendRequest request) {
+    long started = System.nanoTime();
+    return gateway.sendAsync().whenComplete(
+        (result, error) -> sendLog.sent(channel, request, result, error, started));
+  }
+
+  @Override
+  public List<SendResult> sendBatch(List<? extends SendRequest> requests) {
+    long started = System.nanoTime();
+    List<SendResult> results = gateway.sendBatch(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      sendLog.sent(channel, requests.get(i), results.get(i), null, started);
+    }
+    return results;
+  }
+}
@@ -1,37 +1,19 @@
 package com.example.messagesender.sender;
 
 import com.example.messagesender.common.code.enums.MessageChannel;
-import com.example.messagesender.dto.MessageRequestDto;
-import com.example.messagesender.dto.send.EmailSendRequest;
-import com.example.messagesender.dto.send.SendRequest;
-import com.example.messagesender.dto.send.SendResult;
-import com.example.messagesender.dto.send.SmsSendRequest;
-import lombok.extern.slf4j.Slf4j;
+import com.example.messagesender.sender.gateway.SimulatedGatewayProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ScheduledExecutorService;
 import org.springframework.stereotype.Component;
 
-// SMS 발송 Mock - 100% 성공
-@Slf4j
+// SMS 발송 Mock - 기본 100% 성공, 응답 지연/실패/throttle/연결 수는 sender.mock.sms.* (SimulatedGateway)
 @Component
-public class SmsSenderMock implements MessageSender {
+public class SmsSenderMock extends SimulatedMessageSender {
 
-  @Override
-  public MessageChannel channel() {
-    return MessageChannel.SMS;
-  }
-
-  @Override
-  public SendResult mockSend(SendRequest request) {
-    SmsSendRequest smsRequest = (SmsSendRequest) request;
-    log.info(
-        "[EMAIL] body='{}', to='{}'",
-        smsRequest.getContent(),
-        smsRequest.getPhone()
-    );
-    return this.send(request);
-  }
-
-  @Override
-  public SendResult send(SendRequest request) {
-    return SendResult.ok();
+  public SmsSenderMock(SimulatedGatewayProperties gatewayProperties,
+      ScheduledExecutorService senderMockScheduler, MeterRegistry meterRegistry,
+      SendLog sendLog) {
+    super(MessageChannel.SMS, gatewayProperties.getSms(), "SMS_SEND_FAILED", senderMockScheduler,
+        meterRegistry, sendLog);
   }
 }
@@ -0,0 +1,52 @@
+package com.example.messagesender.sender.gateway;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 경과 시간별 실패율 (장애 구간 재현)
+ * - "60:0.2,120:0.01" -> 0~60초 기본 실패율, 60초부터 20%, 120초부터 1%
+ */
+public final class ErrorSchedule {
+
+  private final long[] fromMillis;
+  private final double[] rates;
+
+  private ErrorSchedule(long[] fromMillis, double[] rates) {
+    this.fromMillis = fromMillis;
+    this.rates = rates;
+  }
+
+  public static ErrorSchedule parse(double baseRate, String spec) {
+    List<Long> from = new ArrayList<>(List.of(0L));
+    List<Double> rates = new ArrayList<>(List.of(baseRate));
+    if (spec != null) {
+      for (String entry : spec.split(",")) {
+        if (entry.isBlank()) {
+          continue;
+        }
+        String[] parts = entry.trim().split(":");
+        if (parts.length != 2) {
+          throw new IllegalArgumentException("error-schedule 형식 오류(경과초:실패율): " + entry);
+        }
+        long millis = TimeUnit.SECONDS.toMillis(Long.parseLong(parts[0].trim()));
+        if (millis < from.get(from.size() - 1)) {
+          throw new IllegalArgumentException("error-schedule 은 경과초 오름차순이어야 함: " + spec);
+        }
+        from.add(millis);
+        rates.add(Double.parseDouble(parts[1].trim()));
+      }
+    }
+    return new ErrorSchedule(from.stream().mapToLong(Long::longValue).toArray(),
+        rates.stream().mapToDouble(Double::doubleValue).toArray());
+  }
+
+  public double rateAt(long elapsedMillis) {
+    double rate = rates[0];
+    for (int i = 1; i < fromMillis.length && fromMillis[i] <= elapsedMillis; i++) {
+      rate = rates[i];
+    }
+    return rate;
+  }
+}
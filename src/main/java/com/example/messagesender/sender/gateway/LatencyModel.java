@@ -0,0 +1,59 @@
+package com.example.messagesender.sender.gateway;
+
+import com.example.messagesender.sender.gateway.SimulatedGatewayProperties.Latency;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가상 게이트웨이 응답 지연 분포
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+  /**
+   * @param elapsedMillis 게이트웨이 시작 후 경과 시간 (burst 구간 판단용)
+   */
+  long nextMillis(long elapsedMillis);
+
+  static LatencyModel fixed(long millis) {
+    long value = Math.max(0, millis);
+    return elapsed -> value;
+  }
+
+  /**
+   * 중앙값 medianMillis, exp(sigma * N(0,1)) 배수 (오른쪽 꼬리가 긴 실제 응답 시간 분포)
+   */
+  static LatencyModel lognormal(long medianMillis, double sigma) {
+    return elapsed -> Math.round(
+        medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+  }
+
+  /**
+   * probability 확률로 tailMillis 추가, burstPeriodMillis > 0 이면 매 주기 앞 burstDurationMillis 동안에만
+   */
+  default LatencyModel withTail(double probability, long tailMillis, long burstPeriodMillis,
+      long burstDurationMillis) {
+    if (probability <= 0 || tailMillis <= 0) {
+      return this;
+    }
+    return elapsed -> {
+      long base = nextMillis(elapsed);
+      boolean inBurst = burstPeriodMillis <= 0 || elapsed % burstPeriodMillis < burstDurationMillis;
+      if (inBurst && ThreadLocalRandom.current().nextDouble() < probability) {
+        return base + tailMillis;
+      }
+      return base;
+    };
+  }
+
+  static LatencyModel from(Latency latency) {
+    LatencyModel base = switch (latency.getDistribution().trim().toLowerCase(Locale.ROOT)) {
+      case "fixed" -> fixed(latency.getMs());
+      case "lognormal" -> lognormal(latency.getMs(), latency.getSigma());
+      default -> throw new IllegalArgumentException(
+          "지원하지 않는 latency distribution: " + latency.getDistribution());
+    };
+    return base.withTail(latency.getTailProbability(), latency.getTailMs(),
+        latency.getBurstPeriodMs(), latency.getBurstDurationMs());
+  }
+}
@@ -0,0 +1,159 @@
+package com.example.messagesender.sender.gateway;
+
+import com.example.messagesender.dto.send.SendResult;
+import com.example.messagesender.sender.gateway.SimulatedGatewayProperties.Profile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 발송 게이트웨이 (용량 산정/부하 테스트용, mock sender 뒤에서 동작)
+ * - 호출 1회 = 연결 1개 점유 -> 지연 분포만큼 후 건별 응답 (묶음 발송도 왕복 1회)
+ * - 연결 수 초과 요청은 FIFO 대기 후 연결이 반환되면 시작 (스레드 점유 없음)
+ * - 초당 throttle-tps 건을 넘는 수신자는 GATEWAY_THROTTLED, 나머지는 경과 시간별 실패율로 실패
+ */
+public class SimulatedGateway {
+
+  public static final String THROTTLED = "GATEWAY_THROTTLED";
+
+  private final String failureCode;
+  private final LatencyModel latency;
+  private final ErrorSchedule errorSchedule;
+  private final int throttleTps;
+  private final Semaphore connections;
+  private final ScheduledExecutorService scheduler;
+  private final long startNanos = System.nanoTime();
+
+  // 연결 대기 중인 호출
+  private final ConcurrentLinkedQueue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+  // throttle 1초 window
+  private final AtomicLong throttleWindow = new AtomicLong(-1);
+  private final AtomicInteger throttleCount = new AtomicInteger();
+
+  public SimulatedGateway(Profile profile, String failureCode,
+      ScheduledExecutorService scheduler) {
+    this.failureCode = failureCode;
+    this.latency = LatencyModel.from(profile.getLatency());
+    this.errorSchedule = ErrorSchedule.parse(profile.getFailureRate(), profile.getErrorSchedule());
+    this.throttleTps = profile.getThrottleTps();
+    this.connections =
+        profile.getMaxConnections() > 0 ? new Semaphore(profile.getMaxConnections()) : null;
+    this.scheduler = scheduler;
+  }
+
+  public SendResult send() {
+    return call(1).join().get(0);
+  }
+
+  public CompletableFuture<SendResult> sendAsync() {
+    return call(1).thenApply(results -> results.get(0));
+  }
+
+  public List<SendResult> sendBatch(int recipients) {
+    return call(recipients).join();
+  }
+
+  /**
+   * 게이트웨이 호출 1회 (recipients 명에게 발송)
+   */
+  public CompletableFuture<List<SendResult>> call(int recipients) {
+    CompletableFuture<List<SendResult>> future = new CompletableFuture<>();
+    Runnable start = () -> respond(recipients, future);
+    if (connections == null || connections.tryAcquire()) {
+      start.run();
+      return future;
+    }
+    waiting.add(start);
+    // 대기열에 넣는 사이 연결이 반환된 경우
+    if (connections.tryAcquire()) {
+      handOver();
+    }
+    return future;
+  }
+
+  /**
+   * 연결 대기 중인 호출 수
+   */
+  public int waitingCount() {
+    return waiting.size();
+  }
+
+  private void respond(int recipients, CompletableFuture<List<SendResult>> future) {
+    long elapsed = elapsedMillis();
+    List<SendResult> results = new ArrayList<>(recipients);
+    double failureRate = errorSchedule.rateAt(elapsed);
+    for (int i = 0; i < recipients; i++) {
+      results.add(result(failureRate));
+    }
+
+    long delay = Math.max(0, latency.nextMillis(elapsed));
+    if (delay == 0 && connections == null) {
+      future.complete(results);
+      return;
+    }
+    // 연결 제한이 있으면 지연이 0 이어도 scheduler 에서 반환 (대기 호출 인계가 재귀로 이어지지 않도록)
+    scheduler.schedule(() -> {
+      releaseConnection();
+      future.complete(results);
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  private SendResult result(double failureRate) {
+    if (throttled()) {
+      return SendResult.fail(THROTTLED);
+    }
+    if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+      return SendResult.fail(failureCode);
+    }
+    return SendResult.ok();
+  }
+
+  private boolean throttled() {
+    if (throttleTps <= 0) {
+      return false;
+    }
+    long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+    long current = throttleWindow.get();
+    if (current != second && throttleWindow.compareAndSet(current, second)) {
+      throttleCount.set(0);
+    }
+    return throttleCount.incrementAndGet() > throttleTps;
+  }
+
+  // 대기 중인 호출이 있으면 연결을 그대로 넘기고, 없으면 반환
+  private void releaseConnection() {
+    if (connections == null) {
+      return;
+    }
+    if (waiting.isEmpty()) {
+      connections.release();
+      // 반환하는 사이 대기열에 들어온 경우
+      if (waiting.isEmpty() || !connections.tryAcquire()) {
+        return;
+      }
+    }
+    handOver();
+  }
+
+  // 연결 1개를 가진 상태에서 호출
+  private void handOver() {
+    Runnable next = waiting.poll();
+    if (next == null) {
+      connections.release();
+      return;
+    }
+    next.run();
+  }
+
+  private long elapsedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+}
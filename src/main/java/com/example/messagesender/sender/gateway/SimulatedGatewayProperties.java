@@ -0,0 +1,63 @@
+package com.example.messagesender.sender.gateway;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * mock sender 가상 게이트웨이 설정 (sender.mock.{email|sms}.*)
+ * - 기본값은 기존 mock 과 같음: 지연 없음, EMAIL 실패 1%, SMS 실패 0%, 제한 없음
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "sender.mock")
+public class SimulatedGatewayProperties {
+
+  private Profile email = new Profile(0.01);
+  private Profile sms = new Profile(0);
+
+  @Getter
+  @Setter
+  public static class Profile {
+
+    private Latency latency = new Latency();
+
+    // 기본 실패율 (error-schedule 구간이 시작되기 전)
+    private double failureRate;
+
+    // "경과초:실패율" 목록, 예: 60:0.2,120:0.01 -> 기동 60초부터 20%, 120초부터 1%
+    private String errorSchedule = "";
+
+    // 게이트웨이 초당 허용 건수, 넘으면 GATEWAY_THROTTLED(429) 응답 (0 이면 제한 없음)
+    private int throttleTps;
+
+    // 동시 연결 수, 넘는 요청은 연결이 반환될 때까지 대기 (0 이면 제한 없음)
+    private int maxConnections;
+
+    public Profile() {
+    }
+
+    Profile(double failureRate) {
+      this.failureRate = failureRate;
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class Latency {
+
+    // fixed: ms 고정 / lognormal: 중앙값 ms, 분산 sigma
+    private String distribution = "fixed";
+    private long ms;
+    private double sigma = 0.5;
+
+    // tail: tail-probability 확률로 tail-ms 추가 지연
+    // burst-period-ms > 0 이면 매 주기의 앞 burst-duration-ms 동안에만 tail 발생 (몰려서 느려지는 구간)
+    private double tailProbability;
+    private long tailMs;
+    private long burstPeriodMs;
+    private long burstDurationMs;
+  }
+}
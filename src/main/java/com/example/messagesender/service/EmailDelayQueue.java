@@ -0,0 +1,240 @@
+package com.example.messagesender.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.example.messagesender.common.code.enums.MessagePurpose;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * EMAIL 지연 확정 durable 큐 (worker.email-delay.type=durable)
+ * - 확정 대상(id/선점 token/목적)을 선점 트랜잭션 커밋 직전에 Redis ZSET(score = 확정 시각 ms)에 기록하고, 커밋 이후 stream record 를 ACK
+ *   (제목/본문/수신 주소 같은 개인정보는 Redis 에 남기지 않고 확정 시점에 DB 에서 다시 조회해서 치환)
+ *   (ZADD 실패 시 선점이 롤백되므로 PROCESSING 인데 ZSET 에도 없는 행이 생기지 않음)
+ * - 커밋이 실패하면 ZSET 항목을 지우고, 못 지운 항목은 확정 시점에 행 상태를 보고 발송하지 않음 (handler)
+ * - 모든 노드가 poll-interval-ms 마다 만기된 항목을 batch-size 건씩 lease 로 가져감 (score 를 now + lease-ms 로 갱신)
+ * - 상태 확정 커밋 이후 다음 poll 에서 ZREM, lease 안에 확정되지 않으면 다른 노드가 다시 가져감 (at-least-once)
+ * - 중복 확정은 markSuccessAll/markFailedOrExceededAll 의 PROCESSING + 선점 token(claimedAt) 조건으로 무시됨
+ */
+@Slf4j
+@Component
+public class EmailDelayQueue {
+
+  // 만기 항목 조회 + lease 갱신을 원자적으로 (여러 노드가 같은 항목을 동시에 가져가지 않도록)
+  private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+      local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+      for _, member in ipairs(due) do
+        redis.call('ZADD', KEYS[1], 'XX', ARGV[3], member)
+      end
+      return due
+      """, List.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+
+  private final boolean enabled;
+  private final String key;
+  private final long pollIntervalMs;
+  private final int batchSize;
+  private final long leaseMs;
+
+  // 확정 커밋된 항목 (다음 poll 에서 한 번에 ZREM)
+  private final ConcurrentLinkedQueue<String> completed = new ConcurrentLinkedQueue<>();
+  private ScheduledExecutorService poller;
+
+  public EmailDelayQueue(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+      @Value("${worker.email-delay.type:wheel}") String type,
+      @Value("${worker.email-delay.durable.key:message-email-delay}") String key,
+      @Value("${worker.email-delay.durable.poll-interval-ms:100}") long pollIntervalMs,
+      @Value("${worker.email-delay.durable.batch-size:200}") int batchSize,
+      @Value("${worker.email-delay.durable.lease-ms:30000}") long leaseMs) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.enabled = "durable".equalsIgnoreCase(type);
+    this.key = key;
+    this.pollIntervalMs = pollIntervalMs;
+    this.batchSize = batchSize;
+    this.leaseMs = leaseMs;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 지연 확정 등록
+   * - 트랜잭션 안에서 호출되면 커밋 직전(beforeCommit)에 기록, ZADD 실패는 예외로 선점 트랜잭션을 롤백
+   *   -> 행은 선점 전 상태로 남고 stream record 는 PENDING 이라 재처리에서 다시 선점
+   * - 트랜잭션 밖이면 바로 기록 (ZADD 실패 시 PENDING 유지, PROCESSING 행은 lease 만료 후 재선점)
+   *
+   * @param onQueued 기록 + 커밋 이후 실행할 콜백 (stream ACK)
+   */
+  public void enqueue(DelayedEmail email, long delayMillis, Runnable onQueued) {
+    String member;
+    try {
+      member = objectMapper.writeValueAsString(email);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("email delay 직렬화 실패: id=" + email.messageId(), e);
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          add(member, delayMillis, email.messageId());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          if (status == STATUS_COMMITTED) {
+            onQueued.run();
+          } else {
+            remove(member, email.messageId());
+          }
+        }
+      });
+      return;
+    }
+    add(member, delayMillis, email.messageId());
+    onQueued.run();
+  }
+
+  private void add(String member, long delayMillis, Long messageId) {
+    try {
+      redisTemplate.opsForZSet().add(key, member, System.currentTimeMillis() + delayMillis);
+    } catch (RuntimeException e) {
+      log.error("[FAIL] email delay enqueue failed, claim not committed. id={}", messageId, e);
+      throw e;
+    }
+  }
+
+  // 커밋되지 않은 선점의 항목 제거 (실패해도 확정 시점에 행 상태를 보고 발송하지 않음)
+  private void remove(String member, Long messageId) {
+    try {
+      redisTemplate.opsForZSet().remove(key, member);
+    } catch (Exception e) {
+      log.warn("[WARN] email delay remove after rollback failed. id={}", messageId, e);
+    }
+  }
+
+  /**
+   * 만기 항목 poll 시작
+   *
+   * @param handler 만기 항목 묶음 (poll 1회분) - 발송 후 상태 확정 등록, 확정 커밋 후(또는 발송 대상이 아니면 바로)
+   *                항목별 완료 콜백 실행, 콜백을 실행하지 않은 항목은 lease 만료 후 다시 가져옴
+   */
+  public synchronized void start(Consumer<List<DueEmail>> handler) {
+    if (!enabled || poller != null) {
+      return;
+    }
+    poller = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r);
+      t.setName("email-delay-poll-" + t.getId());
+      t.setDaemon(true);
+      return t;
+    });
+    poller.scheduleWithFixedDelay(() -> pollSafely(handler), pollIntervalMs, pollIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  synchronized void stop() {
+    if (poller != null) {
+      poller.shutdown();
+    }
+    removeCompleted();
+  }
+
+  private void pollSafely(Consumer<List<DueEmail>> handler) {
+    try {
+      removeCompleted();
+      // 밀린 만기 항목이 batch-size 이상이면 이어서 가져감
+      while (poll(handler) >= batchSize) {
+        removeCompleted();
+      }
+    } catch (Exception e) { // 예외로 주기 작업이 중단되지 않도록
+      log.error("[FAIL] email delay poll failed", e);
+    }
+  }
+
+  private int poll(Consumer<List<DueEmail>> handler) {
+    long now = System.currentTimeMillis();
+    @SuppressWarnings("unchecked")
+    List<String> due = redisTemplate.execute(CLAIM_SCRIPT, List.of(key), String.valueOf(now),
+        String.valueOf(batchSize), String.valueOf(now + leaseMs));
+    if (due == null || due.isEmpty()) {
+      return 0;
+    }
+
+    List<DueEmail> emails = new ArrayList<>(due.size());
+    for (String member : due) {
+      try {
+        emails.add(new DueEmail(objectMapper.readValue(member, DelayedEmail.class),
+            () -> completed.add(member)));
+      } catch (Exception e) { // 읽을 수 없는 항목은 버림
+        log.error("[FAIL] email delay entry invalid, dropped. member={}", member, e);
+        completed.add(member);
+      }
+    }
+    if (!emails.isEmpty()) {
+      try {
+        handler.accept(emails);
+      } catch (Exception e) { // 콜백을 실행하지 않은 항목은 lease 만료 후 다시 가져감
+        log.error("[FAIL] email delay finalize failed. size={}", emails.size(), e);
+      }
+    }
+    return due.size();
+  }
+
+  private void removeCompleted() {
+    List<String> members = new ArrayList<>();
+    String member;
+    while ((member = completed.poll()) != null) {
+      members.add(member);
+    }
+    if (members.isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.opsForZSet().remove(key, members.toArray());
+    } catch (Exception e) { // 남은 항목은 lease 만료 후 재확정 시 PROCESSING 조건으로 무시됨
+      log.warn("[WARN] email delay remove failed. size={}", members.size(), e);
+    }
+  }
+
+  /**
+   * 지연 확정 대상 (식별자만 기록, 제목/본문/수신 주소는 확정 시점에 재조회 + 치환)
+   * - 이전 버전이 기록한 항목의 title/content/email 필드는 읽을 때 무시
+   *
+   * @param claimedAt 선점 token (그 사이 재선점된 행이면 발송하지 않음)
+   * @param queuedAt  기록 시각 ms (선점 커밋 전 항목인지 판단용)
+   */
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public record DelayedEmail(Long messageId, LocalDateTime claimedAt, MessagePurpose purpose,
+      long queuedAt) {
+  }
+
+  /**
+   * poll 로 가져온 만기 항목
+   *
+   * @param onCommitted 상태 확정 커밋 후(또는 발송 대상이 아니면 바로) 실행, 다음 poll 에서 ZSET 에서 제거
+   */
+  public record DueEmail(DelayedEmail email, Runnable onCommitted) {
+  }
+}
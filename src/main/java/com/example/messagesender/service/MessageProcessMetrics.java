@@ -0,0 +1,132 @@
+package com.example.messagesender.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import com.example.messagesender.common.code.enums.MessageChannel;
+import com.example.messagesender.common.code.enums.MessagePurpose;
+import com.example.messagesender.common.code.enums.MessageSendStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MessageProcessService 단계별 처리 시간/건수
+ * - message.process.stage (timer): stage, channel, purpose, outcome 태그
+ * - message.process.claim.lost (counter): 선점 UPDATE 가 0건으로 끝난 횟수 (선점 전 status 태그)
+ * - channel/purpose 를 알 수 없는 경우 "none" (batch 단위로 잰 단계는 건별 channel/purpose 로 같은 시간을 기록)
+ * - ACK: 상태 확정(또는 선점 제외) 후 StreamAckBuffer 등록 ~ XACK 전송 (outcome = XACK 성공 여부)
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageProcessMetrics {
+
+  public static final String STAGE_TIMER = "message.process.stage";
+  public static final String CLAIM_LOST_COUNTER = "message.process.claim.lost";
+
+  public static final String SUCCESS = "success";
+  public static final String FAILURE = "failure";
+  public static final String CLAIMED = "claimed";
+  public static final String LOST = "lost";
+  public static final String SKIPPED = "skipped";
+  public static final String MISSING = "missing";
+
+  public enum Stage {
+    CLAIM, USER_LOAD, TEMPLATE_LOAD, RESOLVE, RENDER, SEND, FINALIZE, ACK
+  }
+
+  private final MeterRegistry meterRegistry;
+
+  // 태그 조합별 meter 재사용 (registry 조회/태그 정렬 비용 회피)
+  private final Map<StageKey, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<MessageSendStatus, Counter> lostCounters = new ConcurrentHashMap<>();
+
+  /**
+   * startedNanos(System.nanoTime) 부터 현재까지를 기록
+   */
+  public void record(Stage stage, MessageChannel channel, MessagePurpose purpose, String outcome,
+      long startedNanos) {
+    timer(stage, channel, purpose, outcome)
+        .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 이미 잰 소요 시간 기록 (batch 단위로 잰 단계를 건별 태그로 남길 때)
+   */
+  public void recordElapsed(Stage stage, MessageChannel channel, MessagePurpose purpose,
+      String outcome, long elapsedNanos) {
+    timer(stage, channel, purpose, outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 호출 시간 기록 (예외면 failure 로 기록 후 그대로 던짐)
+   */
+  public <T> T time(Stage stage, MessageChannel channel, MessagePurpose purpose,
+      Supplier<T> call) {
+    long started = System.nanoTime();
+    try {
+      T result = call.get();
+      record(stage, channel, purpose, SUCCESS, started);
+      return result;
+    } catch (RuntimeException e) {
+      record(stage, channel, purpose, FAILURE, started);
+      throw e;
+    }
+  }
+
+  public void claimLost(MessageSendStatus from) {
+    lostCounters.computeIfAbsent(from, status -> Counter.builder(CLAIM_LOST_COUNTER)
+        .description("선점 UPDATE 0건 (다른 consumer 선점 또는 재시도 대상 아님)")
+        .tag("status", tag(status))
+        .register(meterRegistry)).increment();
+  }
+
+  private Timer timer(Stage stage, MessageChannel channel, MessagePurpose purpose,
+      String outcome) {
+    return timers.computeIfAbsent(new StageKey(stage, channel, purpose, outcome),
+        key -> Timer.builder(STAGE_TIMER)
+            .description("메시지 처리 단계별 소요 시간")
+            .tag("stage", tag(key.stage()))
+            .tag("channel", tag(key.channel()))
+            .tag("purpose", tag(key.purpose()))
+            .tag("outcome", key.outcome())
+            .register(meterRegistry));
+  }
+
+  /**
+   * stream 으로 받은 채널/목적 문자열 -> enum (알 수 없는 값이면 null)
+   */
+  public static MessageChannel channelOf(String raw) {
+    if (raw == null) {
+      return null;
+    }
+    try {
+      return MessageChannel.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  public static MessagePurpose purposeOf(String raw) {
+    if (raw == null) {
+      return null;
+    }
+    try {
+      return MessagePurpose.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static String tag(Enum<?> value) {
+    return value == null ? "none" : value.name().toLowerCase(Locale.ROOT);
+  }
+
+  private record StageKey(Stage stage, MessageChannel channel, MessagePurpose purpose,
+      String outcome) {
+  }
+}
@@ -1,11 +1,25 @@
 package com.example.messagesender.service;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 import com.example.messagesender.common.code.CodeCache;
@@ -13,23 +27,33 @@ import com.example.messagesender.common.code.enums.CodeGroups;
 import com.example.messagesender.common.code.enums.MessageChannel;
 import com.example.messagesender.common.code.enums.MessagePurpose;
 import com.example.messagesender.common.code.enums.MessageSendStatus;
-import com.example.messagesender.domain.message.MessageSendResult;
-import com.example.messagesender.domain.message.MessageTemplate;
-import com.example.messagesender.domain.user.User;
 import com.example.messagesender.dto.MessageRequestDto;
+import com.example.messagesender.dto.UserContact;
 import com.example.messagesender.dto.send.EmailSendRequest;
+import com.example.messagesender.dto.send.SendRequest;
 import com.example.messagesender.dto.send.SendResult;
 import com.example.messagesender.dto.send.SmsSendRequest;
 import com.example.messagesender.repository.BillingSettlementRepository;
 import com.example.messagesender.repository.ChargedHistoryRepository;
 import com.example.messagesender.repository.MessageSendResultRepository;
-import com.example.messagesender.repository.MessageTemplateRepository;
+import com.example.messagesender.repository.MessageSendResultRepository.ClaimCandidate;
+import com.example.messagesender.repository.MessageSendResultRepository.SendContext;
 import com.example.messagesender.repository.UserRepository;
 import com.example.messagesender.sender.MessageSender;
+import com.example.messagesender.service.EmailDelayQueue.DelayedEmail;
+import com.example.messagesender.service.EmailDelayQueue.DueEmail;
+import com.example.messagesender.service.MessageProcessMetrics.Stage;
 import com.example.messagesender.service.sender.MessageSenderFactory;
+import com.example.messagesender.service.template.DetailJsonAggregator;
+import com.example.messagesender.service.template.MessageTemplateCache;
 import com.example.messagesender.service.template.MessageTemplateEngine;
 import com.example.messagesender.service.template.RenderedMessage;
+import com.example.messagesender.service.template.ResolutionContext;
+import com.example.messagesender.service.template.SettlementLookup;
+import com.example.messagesender.service.template.TemplateSnapshot;
 import com.example.messagesender.service.template.TemplateValueResolver;
+import com.example.messagesender.worker.BatchableTask;
+import com.example.messagesender.worker.DelayedTaskExecutor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,17 +65,23 @@ import lombok.extern.slf4j.Slf4j;
 public class MessageProcessService {
 
   private final MessageSendResultRepository messageSendResultRepository;
-  private final MessageTemplateRepository messageTemplateRepository;
+  private final MessageTemplateCache messageTemplateCache;
   private final MessageSenderFactory messageSenderFactory;
 
   private final CodeCache codeCache;
-  private final ScheduledExecutorService emailDelayScheduler;
+  private final DelayedTaskExecutor emailDelayExecutor;
+  private final EmailDelayQueue emailDelayQueue;
   private final TransactionTemplate transactionTemplate;
 
   private final UserRepository userRepository;
   private final BillingSettlementRepository billingSettlementRepository;
   private final ObjectMapper objectMapper;
   private final ChargedHistoryRepository chargedHistoryRepository;
+  private final UserContactLoader userContactLoader;
+  private final DetailJsonAggregator detailJsonAggregator;
+  private final MessageStatusWriter messageStatusWriter;
+  private final MessageTemplateEngine messageTemplateEngine;
+  private final MessageProcessMetrics processMetrics;
 
   private Long STATUS_PROCESSING;
   private Long STATUS_WAITING;
@@ -63,11 +93,24 @@ public class MessageProcessService {
   private Long PURPOSE_BILLING_ID;
 
   // EMAIL은 retry_count 0/1/2 까지 (최초 + 재시도1 + 재시도2)
-  private static final int MAX_EMAIL_RETRY_COUNT = 2;
+  static final int MAX_EMAIL_RETRY_COUNT = 2;
+
+  // EMAIL 확정 지연
+  private static final long EMAIL_DELAY_MILLIS = 1000L;
+
+  // PROCESSING 선점 유지 시간 (claimedAt = 선점 시각)
+  // - 재전달된 record 가 이보다 오래된 PROCESSING 행을 만나면 확정되지 못한 것으로 보고 다시 선점
+  // - 선점 ~ 확정 커밋 최대 시간보다 길고, (reclaim max-deliveries - 1) * min-idle-ms 보다 짧게
+  @Value("${message.claim.lease-ms:120000}")
+  private long claimLeaseMs;
+
+  // wheel 에서 같은 tick 에 만료된 EMAIL 확정 묶음 -> sendBatch 1회
+  private final BatchableTask.BatchHandler emailBatchFinalizer = this::finalizeEmailBatch;
 
   /**
    * 메시지 상태 코드 ID 초기화
    */
+  @Order(Ordered.HIGHEST_PRECEDENCE + 1)
   @EventListener(ApplicationReadyEvent.class)
   void initStatuses() {
     this.STATUS_PROCESSING =
@@ -83,85 +126,410 @@ public class MessageProcessService {
 
     this.CHANNEL_SMS_ID = codeCache.getId(CodeGroups.MESSAGE_CHANNEL, MessageChannel.SMS);
     this.PURPOSE_BILLING_ID = codeCache.getId(CodeGroups.MESSAGE_PURPOSE, MessagePurpose.BILLING);
+
+    // worker.email-delay.type=durable 일 때만 poll 시작
+    emailDelayQueue.start(this::finalizeDelayed);
   }
 
   /**
    * Redis Stream으로 전달된 메시지 처리 진입점
+   * - 선점 트랜잭션이 끝난 뒤(잠금/커넥션 반납 후) 발송 -> 발송 제한 대기가 행 잠금을 쥐지 않음
+   *
+   * @param onCompleted 처리 완료 시 실행할 콜백 (stream ACK) - 선점 대상이 아니면 즉시, 발송한 경우 상태 확정 커밋 이후
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void process(MessageRequestDto dto, Runnable onCompleted) {
+    Dispatch dispatch = transactionTemplate.execute(tx -> claim(dto, onCompleted));
+    if (dispatch != null) {
+      finalizeNow(dispatch);
+    }
+  }
+
+  /**
+   * 단건 선점 + 발송 준비 (트랜잭션 안)
+   *
+   * @return 커밋 후 보낼 SMS (없으면 null)
    */
-  public void process(MessageRequestDto dto) {
+  private Dispatch claim(MessageRequestDto dto, Runnable onCompleted) {
 
     Long messageId = dto.getMessageSendResultId();
+    MessageChannel requestedChannel = MessageProcessMetrics.channelOf(dto.getChannel());
+    MessagePurpose requestedPurpose = MessageProcessMetrics.purposeOf(dto.getPurpose());
 
-    MessageSendResult result = messageSendResultRepository.findById(messageId)
-        .orElseThrow(() -> new IllegalArgumentException("메시지 없음: id=" + messageId));
+    long claimStarted = System.nanoTime();
+    // 행 잠금 조회 1회로 선점 전 상태 + 발송 컨텍스트(채널/목적 코드, 대상월)를 가져오고,
+    // 잠금을 쥔 채로 상태별 선점 UPDATE (엔티티 조회 없음, 중복 전달 시 뒤에 온 consumer 는
+    // 잠금을 기다리거나 행을 다시 읽지 않음)
+    SendContext row = messageSendResultRepository.lockForClaim(messageId).orElse(null);
+    if (row == null) {
+      if (!messageSendResultRepository.existsById(messageId)) {
+        // 행 없음: 재처리해도 결과가 같으므로 바로 ACK (PEL 에 남겨서 dead-letter 까지 기다리지 않음)
+        processMetrics.record(Stage.CLAIM, requestedChannel, requestedPurpose,
+            MessageProcessMetrics.MISSING, claimStarted);
+        log.warn("[SKIP] message row not found, acked. id={}", messageId);
+        onCompleted.run();
+        return null;
+      }
+      // 다른 consumer 가 선점 중: ACK 하지 않고 PENDING 유지
+      // -> 선점한 쪽이 커밋하면 재처리 시 SKIPPED, 롤백하면 재처리 시 선점
+      processMetrics.record(Stage.CLAIM, requestedChannel, requestedPurpose,
+          MessageProcessMetrics.LOST, claimStarted);
+      log.debug("[SKIP] message row locked by another consumer. id={}", messageId);
+      return null;
+    }
 
-    if (result.getStatus().getId().equals(STATUS_WAITING)) {
+    MessageChannel channel = MessageChannel.valueOf(row.getChannelCode());
+    LocalDateTime claimedAt = claimToken();
+    MessageSendStatus from;
+    int updated;
+    if (row.getStatusId().equals(STATUS_WAITING)) {
       // WAITING선점
-      int updated = messageSendResultRepository.markProcessing(messageId, STATUS_PROCESSING,
-          STATUS_WAITING);
-      if (updated == 0) {
-        return;
-      }
-    } else if (result.getStatus().getId().equals(STATUS_FAILED)) {
-      // FAILED 재시도 선점 (retryCount + 1, processedAt=null)
+      from = MessageSendStatus.WAITING;
+      updated = messageSendResultRepository.markProcessing(messageId, STATUS_PROCESSING,
+          STATUS_WAITING, claimedAt);
+    } else if (row.getStatusId().equals(STATUS_FAILED)) {
+      // FAILED 재시도 선점 (retryCount + 1, processedAt=null, claimedAt=선점 시각)
       // 예약발송 템플릿 PURPOSE가 BILLING이 아닌 경우 제외
-      int updated = messageSendResultRepository.markRetryProcessing(messageId, STATUS_PROCESSING,
-          STATUS_FAILED, MAX_EMAIL_RETRY_COUNT, PURPOSE_BILLING_ID);
-      if (updated == 0) {
-        return;
-      }
-    } else if (result.getStatus().getId().equals(STATUS_EXCEEDED)) {
+      from = MessageSendStatus.FAILED;
+      updated = messageSendResultRepository.markRetryProcessing(messageId, STATUS_PROCESSING,
+          STATUS_FAILED, MAX_EMAIL_RETRY_COUNT, PURPOSE_BILLING_ID, claimedAt);
+    } else if (row.getStatusId().equals(STATUS_EXCEEDED)) {
       // EXCEEDED SMS fallback 선점 (retryCount 그대로, channel=SMS로 기록)
       // 예약발송 템플릿 PURPOSE가 BILLING이 아닌 경우 제외
-      int updated = messageSendResultRepository.markExceededProcessing(messageId, STATUS_PROCESSING,
-          STATUS_EXCEEDED, CHANNEL_SMS_ID, PURPOSE_BILLING_ID);
-      if (updated == 0) {
-        return;
-      }
+      from = MessageSendStatus.EXCEEDED;
+      channel = MessageChannel.SMS;
+      updated = messageSendResultRepository.markExceededProcessing(messageId, STATUS_PROCESSING,
+          STATUS_EXCEEDED, CHANNEL_SMS_ID, PURPOSE_BILLING_ID, claimedAt);
+    } else if (row.getStatusId().equals(STATUS_PROCESSING)
+        && leaseExpired(row.getClaimedAt(), claimedAt)) {
+      // 선점 후 확정되지 못한 행 (노드 종료, 확정 flush 실패, EMAIL 지연 중 종료 등) 재선점
+      from = MessageSendStatus.PROCESSING;
+      updated = messageSendResultRepository.markReclaimProcessing(messageId, STATUS_PROCESSING,
+          claimedAt.minusNanos(TimeUnit.MILLISECONDS.toNanos(claimLeaseMs)), claimedAt);
     } else {
-      return;
+      processMetrics.record(Stage.CLAIM, requestedChannel, requestedPurpose,
+          MessageProcessMetrics.SKIPPED, claimStarted);
+      if (row.getStatusId().equals(STATUS_PROCESSING) && dto.isRedelivered()) {
+        // lease 안의 PROCESSING: 처리 중인 쪽이 확정하면 ACK 됨, 죽었으면 lease 만료 후 재처리에서 재선점
+        // (여기서 ACK 하면 확정되지 못한 행을 다시 가져올 record 가 없어짐)
+        return null;
+      }
+      // 최종 상태 또는 다른 record 로 처리 중인 행 (중복 발행)
+      onCompleted.run();
+      return null;
     }
+    if (updated == 0) {
+      claimLost(requestedChannel, requestedPurpose, from, claimStarted);
+      onCompleted.run();
+      return null;
+    }
+    processMetrics.record(Stage.CLAIM, requestedChannel, requestedPurpose,
+        MessageProcessMetrics.CLAIMED, claimStarted);
 
-    User user = userRepository.findById(result.getUserId())
-        .orElseThrow(
-            () -> new IllegalArgumentException("사용자 정보 없음: user_id=" + result.getUserId()));
+    ClaimedMessage claimed = ClaimedMessage.of(row, channel, claimedAt);
+    UserContact user = processMetrics.time(Stage.USER_LOAD, requestedChannel, requestedPurpose,
+        () -> userContactLoader.get(claimed.userId()));
+    return send(claimed, user, SettlementLookup.direct(billingSettlementRepository), onCompleted);
+  }
 
-    // 템플릿 치환 TODO: 템플릿 PURPOSE_TYPE=BILLING인 경우 정산서 처리, 아닌 경우 일반 템플릿 처리
-    RenderedMessage rendered;
+  /**
+   * 선점 시각 = 확정 UPDATE 의 선점 token
+   * - claimed_at(DATETIME(3)) 정밀도로 잘라서 DB 에 저장된 값과 그대로 비교되도록
+   */
+  private static LocalDateTime claimToken() {
+    return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+  }
+
+  // claimedAt(선점 시각)이 lease 보다 오래됐으면 만료 (null 은 선점 시각을 기록하기 전 버전에서 선점된 행)
+  private boolean leaseExpired(LocalDateTime claimedAt, LocalDateTime now) {
+    return claimedAt == null
+        || claimedAt.isBefore(now.minusNanos(TimeUnit.MILLISECONDS.toNanos(claimLeaseMs)));
+  }
+
+  // 선점 UPDATE 0건 (다른 consumer 가 먼저 선점했거나 재시도 대상이 아님)
+  private void claimLost(MessageChannel channel, MessagePurpose purpose, MessageSendStatus from,
+      long claimStarted) {
+    processMetrics.record(Stage.CLAIM, channel, purpose, MessageProcessMetrics.LOST, claimStarted);
+    processMetrics.claimLost(from);
+  }
+
+  /**
+   * Redis Stream batch(batch-size) 단위 처리 진입점
+   * - 상태별 set UPDATE 1회씩으로 batch 전체를 선점하고, 실제로 선점된 행만 재조회해서 발송
+   * - 선점 이후 개별 처리에 실패한 건은 선점 전 상태로 되돌리고 콜백을 실행하지 않음(PENDING 유지)
+   *
+   * @param onCompleted messageSendResultId 별 처리 완료 콜백 (stream ACK)
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void processBatch(List<MessageRequestDto> dtos, Consumer<Long> onCompleted) {
+    Set<Long> ids = new LinkedHashSet<>();
+    Set<Long> redeliveredIds = new HashSet<>();
+    for (MessageRequestDto dto : dtos) {
+      ids.add(dto.getMessageSendResultId());
+      if (dto.isRedelivered()) {
+        redeliveredIds.add(dto.getMessageSendResultId());
+      }
+    }
+
+    Map<Long, ClaimCandidate> candidates = new HashMap<>();
+    Set<Long> inFlight = new HashSet<>();
+    long claimStarted = System.nanoTime();
+    List<SendContext> claimed;
     try {
-      MessageTemplate template = messageTemplateRepository.findById(result.getTemplate().getId())
-          .orElseThrow(() -> new IllegalArgumentException("템플릿 없음"));
+      claimed = transactionTemplate.execute(tx -> claimBatch(ids, candidates, inFlight));
+    } catch (RuntimeException e) {
+      recordBatchClaimFailure(dtos, System.nanoTime() - claimStarted);
+      throw e;
+    }
+    recordBatchClaim(dtos, candidates, claimed, System.nanoTime() - claimStarted);
 
-      String purposeCode = template.getPurposeType().getCode(); // 예: BILLING / NOTICE
-      MessagePurpose purpose = MessagePurpose.valueOf(purposeCode); // enum 필요
+    Map<String, SettlementLookup> settlementLookups = prefetchSettlements(claimed);
 
-      TemplateValueResolver resolver = new TemplateValueResolver(
-          userRepository, billingSettlementRepository, objectMapper, chargedHistoryRepository
-      );
+    // 사용자 연락처 일괄 조회 (캐시 미스만 IN 조회 1회)
+    Set<Long> userIds = new LinkedHashSet<>();
+    for (SendContext context : claimed) {
+      userIds.add(context.getUserId());
+    }
+    long userLoadStarted = System.nanoTime();
+    Map<Long, UserContact> users;
+    try {
+      users = userContactLoader.loadAll(userIds);
+    } catch (RuntimeException e) {
+      recordBatchStage(Stage.USER_LOAD, claimed, MessageProcessMetrics.FAILURE,
+          System.nanoTime() - userLoadStarted);
+      throw e;
+    }
+    recordBatchStage(Stage.USER_LOAD, claimed, MessageProcessMetrics.SUCCESS,
+        System.nanoTime() - userLoadStarted);
+
+    Set<Long> skipped = new LinkedHashSet<>(ids);
+    List<Dispatch> dispatches = new ArrayList<>();
+    for (SendContext context : claimed) {
+      Long messageId = context.getId();
+      skipped.remove(messageId);
+      SettlementLookup settlementLookup = settlementLookups.getOrDefault(
+          context.getTargetMonth(), SettlementLookup.direct(billingSettlementRepository));
+      UserContact user = users.get(context.getUserId());
+      Dispatch dispatch;
+      try {
+        if (user == null) {
+          throw new IllegalArgumentException("사용자 정보 없음: user_id=" + context.getUserId());
+        }
+        ClaimedMessage message = ClaimedMessage.of(context,
+            MessageChannel.valueOf(context.getChannelCode()), context.getClaimedAt());
+        dispatch = transactionTemplate.execute(tx -> send(message, user, settlementLookup,
+            () -> onCompleted.accept(messageId)));
+      } catch (Exception e) {
+        log.error("[FAIL] batch message processing failed. id={}", messageId, e);
+        releaseClaim(candidates.get(messageId), context.getClaimedAt());
+        continue;
+      }
+      if (dispatch != null) {
+        dispatches.add(dispatch);
+      }
+    }
+    // 트랜잭션 밖에서 SMS 를 sendBatch 로 한 번에 발송 (발송 제한 대기 중 커넥션을 쥐지 않음)
+    finalizeBatch(dispatches);
+    // lease 안의 PROCESSING 행을 다시 가져온 record 는 ACK 하지 않음 (process 와 동일)
+    skipped.removeIf(id -> inFlight.contains(id) && redeliveredIds.contains(id));
+    skipped.forEach(onCompleted);
+  }
+
+  /**
+   * batch 선점: 대상 행 잠금 -> 상태별 set UPDATE -> PROCESSING 으로 바뀐 행만 발송 컨텍스트로 재조회
+   *
+   * @param inFlight lease 안의 PROCESSING 행 (다른 consumer 가 처리 중)
+   */
+  private List<SendContext> claimBatch(Collection<Long> ids,
+      Map<Long, ClaimCandidate> candidates, Set<Long> inFlight) {
+    List<ClaimCandidate> locked = messageSendResultRepository.lockClaimCandidates(ids,
+        List.of(STATUS_WAITING, STATUS_FAILED, STATUS_EXCEEDED, STATUS_PROCESSING));
+    if (locked.isEmpty()) {
+      return List.of();
+    }
+
+    LocalDateTime claimedAt = claimToken();
+    List<Long> waitingIds = new ArrayList<>();
+    List<Long> failedIds = new ArrayList<>();
+    List<Long> exceededIds = new ArrayList<>();
+    List<Long> expiredIds = new ArrayList<>();
+    for (ClaimCandidate candidate : locked) {
+      if (candidate.getStatusId().equals(STATUS_PROCESSING)) {
+        if (!leaseExpired(candidate.getClaimedAt(), claimedAt)) {
+          inFlight.add(candidate.getId());
+          continue;
+        }
+        expiredIds.add(candidate.getId());
+      } else if (candidate.getStatusId().equals(STATUS_WAITING)) {
+        waitingIds.add(candidate.getId());
+      } else if (candidate.getStatusId().equals(STATUS_FAILED)) {
+        failedIds.add(candidate.getId());
+      } else {
+        exceededIds.add(candidate.getId());
+      }
+      candidates.put(candidate.getId(), candidate);
+    }
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+
+    if (!waitingIds.isEmpty()) {
+      messageSendResultRepository.markProcessingAll(waitingIds, STATUS_PROCESSING,
+          STATUS_WAITING, claimedAt);
+    }
+    if (!failedIds.isEmpty()) {
+      messageSendResultRepository.markRetryProcessingAll(failedIds, STATUS_PROCESSING,
+          STATUS_FAILED, MAX_EMAIL_RETRY_COUNT, PURPOSE_BILLING_ID, claimedAt);
+    }
+    if (!exceededIds.isEmpty()) {
+      messageSendResultRepository.markExceededProcessingAll(exceededIds, STATUS_PROCESSING,
+          STATUS_EXCEEDED, CHANNEL_SMS_ID, PURPOSE_BILLING_ID, claimedAt);
+    }
+    if (!expiredIds.isEmpty()) {
+      messageSendResultRepository.markReclaimProcessingAll(expiredIds, STATUS_PROCESSING,
+          claimedAt.minusNanos(TimeUnit.MILLISECONDS.toNanos(claimLeaseMs)), claimedAt);
+    }
+
+    // 잠금을 쥐고 있으므로 PROCESSING 인 행 = 이번 batch 가 선점한 행
+    return messageSendResultRepository.findClaimed(candidates.keySet(), STATUS_PROCESSING);
+  }
+
+  /**
+   * batch 선점 결과를 건별 channel/purpose 태그로 기록 (소요 시간은 batch 선점 트랜잭션 전체)
+   * - 선점: 선점 후 채널(EXCEEDED 는 SMS)과 템플릿 목적
+   * - 그 외: stream 으로 받은 채널/목적 (process 와 동일)
+   *   - 잠금은 잡았지만 선점 UPDATE 에서 빠진 행 (재시도 초과, BILLING 아님 등): lost
+   *   - lease 안의 PROCESSING, 최종 상태, 행 없음: skipped
+   */
+  private void recordBatchClaim(List<MessageRequestDto> dtos,
+      Map<Long, ClaimCandidate> candidates, List<SendContext> claimed, long elapsedNanos) {
+    recordBatchStage(Stage.CLAIM, claimed, MessageProcessMetrics.CLAIMED, elapsedNanos);
+    Set<Long> recorded = new HashSet<>();
+    for (SendContext context : claimed) {
+      recorded.add(context.getId());
+    }
+    for (MessageRequestDto dto : dtos) {
+      Long messageId = dto.getMessageSendResultId();
+      if (!recorded.add(messageId)) { // 선점됐거나 batch 안의 중복 record
+        continue;
+      }
+      ClaimCandidate candidate = candidates.get(messageId);
+      processMetrics.recordElapsed(Stage.CLAIM, MessageProcessMetrics.channelOf(dto.getChannel()),
+          MessageProcessMetrics.purposeOf(dto.getPurpose()),
+          candidate != null ? MessageProcessMetrics.LOST : MessageProcessMetrics.SKIPPED,
+          elapsedNanos);
+      if (candidate != null) {
+        processMetrics.claimLost(statusOf(candidate));
+      }
+    }
+  }
+
+  // 선점된 건별 channel/purpose 로 batch 단위 소요 시간 기록
+  private void recordBatchStage(Stage stage, List<SendContext> claimed, String outcome,
+      long elapsedNanos) {
+    for (SendContext context : claimed) {
+      processMetrics.recordElapsed(stage, MessageChannel.valueOf(context.getChannelCode()),
+          MessageProcessMetrics.purposeOf(context.getPurposeCode()), outcome, elapsedNanos);
+    }
+  }
+
+  // batch 선점 트랜잭션 예외 (batch 전체 PENDING 유지)
+  private void recordBatchClaimFailure(List<MessageRequestDto> dtos, long elapsedNanos) {
+    for (MessageRequestDto dto : dtos) {
+      processMetrics.recordElapsed(Stage.CLAIM, MessageProcessMetrics.channelOf(dto.getChannel()),
+          MessageProcessMetrics.purposeOf(dto.getPurpose()), MessageProcessMetrics.FAILURE,
+          elapsedNanos);
+    }
+  }
+
+  private MessageSendStatus statusOf(ClaimCandidate candidate) {
+    return candidate.getStatusId().equals(STATUS_WAITING)
+        ? MessageSendStatus.WAITING
+        : candidate.getStatusId().equals(STATUS_FAILED)
+            ? MessageSendStatus.FAILED
+            : candidate.getStatusId().equals(STATUS_PROCESSING)
+                ? MessageSendStatus.PROCESSING
+                : MessageSendStatus.EXCEEDED;
+  }
+
+  /**
+   * BILLING 템플릿 건의 정산서를 targetMonth 별로 한 번에 선조회 (WHERE target_month = ? AND user_id IN (...))
+   */
+  private Map<String, SettlementLookup> prefetchSettlements(List<SendContext> claimed) {
+    Map<String, Set<Long>> userIdsByMonth = new HashMap<>();
+    for (SendContext context : claimed) {
+      if (MessageProcessMetrics.purposeOf(context.getPurposeCode()) != MessagePurpose.BILLING) {
+        continue;
+      }
+      userIdsByMonth.computeIfAbsent(context.getTargetMonth(), k -> new LinkedHashSet<>())
+          .add(context.getUserId());
+    }
+
+    Map<String, SettlementLookup> lookups = new HashMap<>();
+    userIdsByMonth.forEach((targetMonth, userIds) -> lookups.put(targetMonth,
+        SettlementLookup.prefetch(billingSettlementRepository, targetMonth, userIds)));
+    return lookups;
+  }
+
+  /**
+   * batch 선점 원복 (선점 전 상태/채널/재시도 횟수/처리·선점 시각으로 되돌림, 내 선점일 때만)
+   */
+  private void releaseClaim(ClaimCandidate candidate, LocalDateTime claimedAt) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          tx -> messageSendResultRepository.releaseClaim(candidate.getId(), STATUS_PROCESSING,
+              candidate.getStatusId(), candidate.getChannelId(), candidate.getRetryCount(),
+              candidate.getProcessedAt(), candidate.getClaimedAt(), claimedAt));
+    } catch (Exception e) {
+      log.error("[FAIL] claim release failed. id={}", candidate.getId(), e);
+    }
+  }
+
+  /**
+   * 선점된 메시지 발송 (템플릿 치환 -> 채널별 발송 -> 상태 확정)
+   *
+   * @return 트랜잭션 커밋 후 호출 스레드에서 보낼 SMS (EMAIL 은 지연 실행기/큐가 발송하므로 null)
+   */
+  private Dispatch send(ClaimedMessage message, UserContact user,
+      SettlementLookup settlementLookup, Runnable onCompleted) {
 
-      Map<String, String> values = resolver.resolve(result, template, purpose);
+    Long messageId = message.id();
+    LocalDateTime claimedAt = message.claimedAt();
+    MessageChannel channel = message.channel();
 
-      MessageTemplateEngine engine = new MessageTemplateEngine();
-      rendered = engine.render(template.getTitle(), template.getBody(), values);
+    // 템플릿 캐시: 채널/목적 enum, variables_json 파싱 결과 포함
+    TemplateSnapshot template;
+    try {
+      template = loadTemplate(message.templateId(), channel);
     } catch (Exception e) {
       log.error("[FAIL] template rendering failed. id={}", messageId, e);
       throw e;
     }
+    MessagePurpose purpose = template.getPurpose();
+
+    if (channel == MessageChannel.EMAIL && emailDelayQueue.isEnabled()) {
+      // 선점 커밋 직전에 Redis ZSET 에 기록, 커밋 후 stream ACK (노드가 죽어도 다른 노드가 1초 후 확정)
+      // - 항목에는 id/선점 token/목적만 (제목/본문/수신 주소는 확정 시점에 다시 조회/치환)
+      emailDelayQueue.enqueue(new DelayedEmail(messageId, claimedAt, purpose,
+          System.currentTimeMillis()), EMAIL_DELAY_MILLIS, onCompleted);
+      return null;
+    }
+
+    // 템플릿 치환 TODO: 템플릿 PURPOSE_TYPE=BILLING인 경우 정산서 처리, 아닌 경우 일반 템플릿 처리
+    RenderedMessage rendered = render(message, user, template, settlementLookup);
 
     // 채널별 발송 처리
-    MessageChannel channel = MessageChannel.valueOf(result.getChannel().getCode());
     MessageSender sender = messageSenderFactory.getSender(channel);
 
     if (channel == MessageChannel.EMAIL) {
-      String title = rendered.getTitle();
-      String content = rendered.getBody();
-      String email = user.getEmail();
-      EmailSendRequest req = new EmailSendRequest(messageId, title, content, email);
-
-      // Email은 1초 후 확정
-      emailDelayScheduler.schedule(() -> finalizeAfterDelay(messageId, sender, req), 1,
-          TimeUnit.SECONDS);
-      return;
+      EmailSendRequest req = new EmailSendRequest(messageId, rendered.getTitle(),
+          rendered.getBody(), user.getEmail());
+
+      // Email은 1초 후 확정 (같은 tick 에 만료된 건끼리 묶어서 발송)
+      emailDelayExecutor.schedule(new DelayedEmailFinalize(new Dispatch(messageId, claimedAt,
+              MessageChannel.EMAIL, purpose, sender, req, onCompleted)),
+          EMAIL_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+      return null;
     }
 
     // SMS는 즉시 처리
@@ -169,50 +537,288 @@ public class MessageProcessService {
     String phone = user.getPhone();
     SmsSendRequest req = new SmsSendRequest(messageId, content, phone);
 
-    finalizeNow(messageId, sender, req);
+    return new Dispatch(messageId, claimedAt, MessageChannel.SMS, purpose, sender, req,
+        onCompleted);
   }
 
   /**
-   * EMAIL 지연 발송 후 상태 확정
+   * 템플릿 값 조회 + 치환 (실패 시 로그 후 그대로 던짐)
    */
-  private void finalizeAfterDelay(Long messageId, MessageSender sender, EmailSendRequest request) {
-    SendResult sendResult;
+  private RenderedMessage render(ClaimedMessage message, UserContact user,
+      TemplateSnapshot template, SettlementLookup settlementLookup) {
+    MessageChannel channel = message.channel();
+    MessagePurpose purpose = template.getPurpose();
     try {
-      sendResult = sender.mockSend(request);
+      TemplateValueResolver resolver = new TemplateValueResolver(
+          userRepository, billingSettlementRepository, objectMapper, chargedHistoryRepository,
+          detailJsonAggregator
+      );
+
+      ResolutionContext context = ResolutionContext.builder()
+          .userId(message.userId())
+          .user(user)
+          .template(template)
+          .targetMonth(message.targetMonth())
+          .settlementLookup(settlementLookup)
+          .build();
+
+      Map<String, String> values =
+          processMetrics.time(Stage.RESOLVE, channel, purpose, () -> resolver.resolve(context));
+
+      return processMetrics.time(Stage.RENDER, channel, purpose,
+          () -> messageTemplateEngine.render(template.getId(), template.getTitle(),
+              template.getBody(), values));
     } catch (Exception e) {
-      sendResult = SendResult.fail("SENDER_EXCEPTION");
+      log.error("[FAIL] template rendering failed. id={}", message.id(), e);
+      throw e;
+    }
+  }
+
+  /**
+   * 템플릿 캐시 조회 (purpose 태그는 조회 결과 기준)
+   */
+  private TemplateSnapshot loadTemplate(Long templateId, MessageChannel channel) {
+    long started = System.nanoTime();
+    try {
+      TemplateSnapshot template = messageTemplateCache.get(templateId);
+      processMetrics.record(Stage.TEMPLATE_LOAD, channel, template.getPurpose(),
+          MessageProcessMetrics.SUCCESS, started);
+      return template;
+    } catch (RuntimeException e) {
+      processMetrics.record(Stage.TEMPLATE_LOAD, channel, null, MessageProcessMetrics.FAILURE,
+          started);
+      throw e;
     }
+  }
 
-    boolean success = sendResult != null && sendResult.isSuccess();
+  /**
+   * durable 큐(EmailDelayQueue)에서 만기된 EMAIL 묶음 확정
+   * - 항목은 선점 커밋 직전에 기록되므로 행이 이 항목의 선점(claimedAt)으로 PROCESSING 일 때만 발송
+   *   - PROCESSING 이 아니고 기록한 지 claim lease 안: 선점 커밋 전일 수 있음 -> 그대로 두고 큐 lease 후 다시 확인
+   *   - 다른 선점으로 PROCESSING(lease 만료 후 재선점): 새 선점자가 발송하므로 발송하지 않고 항목만 제거
+   *   - 그 외(이미 확정, 롤백된 선점, 행 없음): 발송하지 않고 항목만 제거
+   * - 항목에 본문/수신 주소가 없으므로 발송 컨텍스트/연락처를 묶음 단위로 다시 조회해서 치환 후 sendBatch 1회
+   *   (치환 실패는 발송 실패로 확정 -> EMAIL 재시도 경로)
+   */
+  private void finalizeDelayed(List<DueEmail> dues) {
+    Set<Long> ids = new LinkedHashSet<>();
+    for (DueEmail due : dues) {
+      ids.add(due.email().messageId());
+    }
+    Map<Long, SendContext> contexts = new HashMap<>();
+    for (SendContext context : messageSendResultRepository.findInFlight(ids, STATUS_PROCESSING)) {
+      contexts.put(context.getId(), context);
+    }
 
-    transactionTemplate.execute(tx -> {
-      if (success) {
-        messageSendResultRepository.markSuccess(messageId, STATUS_PROCESSING, STATUS_SUCCESS);
-      } else {
-        messageSendResultRepository.markFailedOrExceeded(messageId, STATUS_PROCESSING,
-            STATUS_FAILED, STATUS_EXCEEDED, MAX_EMAIL_RETRY_COUNT);
+    List<DueEmail> sendable = new ArrayList<>();
+    List<SendContext> sendableContexts = new ArrayList<>();
+    for (DueEmail due : dues) {
+      DelayedEmail email = due.email();
+      SendContext context = contexts.get(email.messageId());
+      if (context == null) {
+        if (System.currentTimeMillis() - email.queuedAt() >= claimLeaseMs) {
+          log.info("[SKIP] delayed email not in PROCESSING, dropped. id={}", email.messageId());
+          due.onCommitted().run();
+        }
+        continue;
       }
-      return null;
-    });
+      // claimedAt 이 없는 항목은 선점 token 을 기록하기 전 버전에서 등록된 항목 (현재 선점으로 확정)
+      if (email.claimedAt() != null && !email.claimedAt().equals(context.getClaimedAt())) {
+        log.info("[SKIP] delayed email reclaimed by another consumer, dropped. id={}",
+            email.messageId());
+        due.onCommitted().run();
+        continue;
+      }
+      sendable.add(due);
+      sendableContexts.add(context);
+    }
+    if (sendable.isEmpty()) {
+      return;
+    }
+
+    Map<String, SettlementLookup> settlementLookups = prefetchSettlements(sendableContexts);
+    Set<Long> userIds = new LinkedHashSet<>();
+    for (SendContext context : sendableContexts) {
+      userIds.add(context.getUserId());
+    }
+    Map<Long, UserContact> users = userContactLoader.loadAll(userIds);
+
+    MessageSender sender = messageSenderFactory.getSender(MessageChannel.EMAIL);
+    List<Dispatch> dispatches = new ArrayList<>(sendable.size());
+    for (int i = 0; i < sendable.size(); i++) {
+      DueEmail due = sendable.get(i);
+      SendContext context = sendableContexts.get(i);
+      Long messageId = context.getId();
+      try {
+        UserContact user = users.get(context.getUserId());
+        if (user == null) {
+          throw new IllegalArgumentException("사용자 정보 없음: user_id=" + context.getUserId());
+        }
+        ClaimedMessage message =
+            ClaimedMessage.of(context, MessageChannel.EMAIL, context.getClaimedAt());
+        TemplateSnapshot template = loadTemplate(message.templateId(), MessageChannel.EMAIL);
+        RenderedMessage rendered = render(message, user, template, settlementLookups.getOrDefault(
+            context.getTargetMonth(), SettlementLookup.direct(billingSettlementRepository)));
+        dispatches.add(new Dispatch(messageId, context.getClaimedAt(), MessageChannel.EMAIL,
+            template.getPurpose(), sender, new EmailSendRequest(messageId, rendered.getTitle(),
+            rendered.getBody(), user.getEmail()), due.onCommitted()));
+      } catch (Exception e) {
+        log.error("[FAIL] delayed email rendering failed, finalized as failure. id={}",
+            messageId, e);
+        submitOutcome(messageId, context.getClaimedAt(), MessageChannel.EMAIL,
+            due.email().purpose(), false, due.onCommitted());
+      }
+    }
+    finalizeBatch(dispatches);
+  }
+
+  /**
+   * wheel 에서 같은 tick 에 만료된 EMAIL 지연 확정 묶음
+   */
+  private void finalizeEmailBatch(List<BatchableTask> tasks) {
+    List<Dispatch> dispatches = new ArrayList<>(tasks.size());
+    for (BatchableTask task : tasks) {
+      dispatches.add(((DelayedEmailFinalize) task).dispatch);
+    }
+    finalizeBatch(dispatches);
   }
 
   /**
-   * SMS 발송 결과 즉시 확정
+   * 발송 결과 확정 (선점 커밋 이후 또는 EMAIL 지연 만료 후 호출, 응답은 비동기로 받고 스레드는 바로 반환)
+   * - 발송 제한(RateLimitedMessageSender) 대기는 이 스레드에서 하므로 트랜잭션 밖에서 호출해야 함
    */
-  private void finalizeNow(Long messageId, MessageSender sender, SmsSendRequest req) {
-    SendResult sendResult;
+  private void finalizeNow(Dispatch dispatch) {
+    // 상태 확정은 발송 응답 이후 MessageStatusWriter 가 일괄 처리
+    sendAsync(dispatch.sender(), dispatch.request(), dispatch.channel(), dispatch.purpose(),
+        errorResult(dispatch.channel()))
+        .thenAccept(success -> submitOutcome(dispatch.messageId(), dispatch.claimedAt(),
+            dispatch.channel(), dispatch.purpose(), success, dispatch.onCompleted()));
+  }
+
+  /**
+   * 같은 채널 묶음 발송 (게이트웨이 호출 1회)
+   * - batch 에서 선점한 SMS (선점 커밋 이후), wheel 에서 같은 tick 에 만료된 EMAIL
+   * - 한 건이면 sendAsync 와 동일하게 처리
+   * - 예외 또는 결과 누락은 건별 발송과 같은 결과(errorResult)로 처리
+   */
+  private void finalizeBatch(List<Dispatch> dispatches) {
+    if (dispatches.isEmpty()) {
+      return;
+    }
+    if (dispatches.size() == 1) {
+      finalizeNow(dispatches.get(0));
+      return;
+    }
+    List<SendRequest> requests = new ArrayList<>(dispatches.size());
+    for (Dispatch dispatch : dispatches) {
+      requests.add(dispatch.request());
+    }
+
+    // sender 는 채널당 하나 (MessageSenderFactory)
+    MessageChannel channel = dispatches.get(0).channel();
+    long sendStarted = System.nanoTime();
+    List<SendResult> results;
     try {
-      sendResult = sender.mockSend(req);
+      results = dispatches.get(0).sender().sendBatch(requests);
     } catch (Exception e) {
-      sendResult = SendResult.ok();
+      log.error("[FAIL] {} batch send failed. size={}", channel, requests.size(), e);
+      results = List.of();
     }
-    boolean success = sendResult != null && sendResult.isSuccess();
 
-    if (success) {
-      messageSendResultRepository.markSuccess(messageId, STATUS_PROCESSING, STATUS_SUCCESS);
-    } else {
-      messageSendResultRepository.markFailedOrExceeded(messageId, STATUS_PROCESSING, STATUS_FAILED,
-          STATUS_EXCEEDED, MAX_EMAIL_RETRY_COUNT);
+    for (int i = 0; i < dispatches.size(); i++) {
+      Dispatch dispatch = dispatches.get(i);
+      SendResult result = i < results.size() ? results.get(i) : errorResult(channel);
+      boolean success = result != null && result.isSuccess();
+      processMetrics.record(Stage.SEND, channel, dispatch.purpose(), outcome(success),
+          sendStarted);
+      submitOutcome(dispatch.messageId(), dispatch.claimedAt(), channel, dispatch.purpose(),
+          success, dispatch.onCompleted());
+    }
+  }
+
+  // 발송 예외 시 결과 (EMAIL 은 실패 -> 재시도 대상, SMS 는 기존 동작대로 성공 처리)
+  private static SendResult errorResult(MessageChannel channel) {
+    return channel == MessageChannel.EMAIL ? SendResult.fail("SENDER_EXCEPTION")
+        : SendResult.ok();
+  }
+
+  /**
+   * 비동기 발송 + SEND 단계 기록 (예외면 onError 결과로 처리)
+   *
+   * @return 발송 성공 여부
+   */
+  private CompletableFuture<Boolean> sendAsync(MessageSender sender, SendRequest request,
+      MessageChannel channel, MessagePurpose purpose, SendResult onError) {
+    long sendStarted = System.nanoTime();
+    CompletableFuture<SendResult> future;
+    try {
+      future = sender.sendAsync(request);
+    } catch (Exception e) {
+      future = CompletableFuture.completedFuture(onError);
+    }
+    return future.exceptionally(e -> onError).thenApply(sendResult -> {
+      boolean success = sendResult != null && sendResult.isSuccess();
+      processMetrics.record(Stage.SEND, channel, purpose, outcome(success), sendStarted);
+      return success;
+    });
+  }
+
+  /**
+   * 상태 확정 등록 (FINALIZE = 등록부터 확정 커밋까지)
+   */
+  private void submitOutcome(Long messageId, LocalDateTime claimedAt, MessageChannel channel,
+      MessagePurpose purpose, boolean success, Runnable onCompleted) {
+    long submitted = System.nanoTime();
+    String outcome = outcome(success);
+    messageStatusWriter.submit(messageId, claimedAt, success, () -> {
+      processMetrics.record(Stage.FINALIZE, channel, purpose, outcome, submitted);
+      onCompleted.run();
+    });
+  }
+
+  private static String outcome(boolean success) {
+    return success ? MessageProcessMetrics.SUCCESS : MessageProcessMetrics.FAILURE;
+  }
+
+  /**
+   * 선점 커밋 후(SMS) 또는 지연 만료 후(EMAIL) 보낼 1건
+   */
+  private record Dispatch(Long messageId, LocalDateTime claimedAt, MessageChannel channel,
+      MessagePurpose purpose, MessageSender sender, SendRequest request, Runnable onCompleted) {
+  }
+
+  /**
+   * EMAIL 지연 확정 작업 (wheel 은 같은 tick 에 만료된 작업을 emailBatchFinalizer 로 묶어서 실행)
+   */
+  private final class DelayedEmailFinalize implements BatchableTask {
+
+    private final Dispatch dispatch;
+
+    private DelayedEmailFinalize(Dispatch dispatch) {
+      this.dispatch = dispatch;
+    }
+
+    @Override
+    public void run() {
+      finalizeNow(dispatch);
+    }
+
+    @Override
+    public BatchHandler batchHandler() {
+      return emailBatchFinalizer;
+    }
+  }
+
+  /**
+   * 선점된 메시지의 발송 대상 값 (선점 후 채널: EXCEEDED 는 SMS)
+   */
+  private record ClaimedMessage(Long id, Long userId, Long templateId, MessageChannel channel,
+      String targetMonth, LocalDateTime claimedAt) {
+
+    static ClaimedMessage of(SendContext context, MessageChannel channel,
+        LocalDateTime claimedAt) {
+      return new ClaimedMessage(context.getId(), context.getUserId(), context.getTemplateId(),
+          channel, context.getTargetMonth(), claimedAt);
     }
   }
 }
@@ -0,0 +1,229 @@
+package com.example.messagesender.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.messagesender.common.code.CodeCache;
+import com.example.messagesender.common.code.enums.CodeGroups;
+import com.example.messagesender.common.code.enums.MessageSendStatus;
+import com.example.messagesender.repository.MessageSendResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 발송 결과(SUCCESS / FAILED or EXCEEDED) 비동기 일괄 확정
+ * - 결과를 메모리에 모았다가 flush-interval-ms 주기 또는 flush-size 건마다 상태별 UPDATE ... WHERE id IN (...) 로 확정
+ *   (선점 token(claimedAt)이 같은 결과끼리 묶음 -> 재선점된 행에 이전 선점자의 늦은 결과가 확정되지 않음)
+ * - 완료 콜백(stream ACK)은 flush 트랜잭션 커밋 이후에만 실행, flush 실패 시 실행하지 않음(PENDING 유지)
+ * - 종료 시 남은 결과를 모두 확정 (EMAIL 지연 실행기 종료 이후, StreamAckBuffer 종료 이전)
+ *   - emailDelayExecutor 가 이 bean 에 @DependsOn -> 먼저 종료되면서 남은 확정을 등록
+ *   - 이 bean 이 streamAckBuffer 에 @DependsOn -> 확정 콜백의 ACK 가 StreamAckBuffer.close 에서 전송됨
+ */
+@Slf4j
+@Component
+@DependsOn("streamAckBuffer")
+@RequiredArgsConstructor
+public class MessageStatusWriter {
+
+  private final MessageSendResultRepository messageSendResultRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final CodeCache codeCache;
+  private final ScheduledExecutorService flushScheduler;
+
+  @Value("${message.finalize.flush-interval-ms:50}")
+  private long flushIntervalMs;
+
+  @Value("${message.finalize.flush-size:200}")
+  private int flushSize;
+
+  private final ConcurrentLinkedQueue<Outcome> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private volatile boolean closed;
+
+  private Long STATUS_PROCESSING;
+  private Long STATUS_SUCCESS;
+  private Long STATUS_FAILED;
+  private Long STATUS_EXCEEDED;
+
+  /**
+   * 상태 코드 ID 초기화 + 주기 flush 시작
+   */
+  @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+  @EventListener(ApplicationReadyEvent.class)
+  void init() {
+    this.STATUS_PROCESSING =
+        codeCache.getId(CodeGroups.MESSAGE_SEND_STATUS, MessageSendStatus.PROCESSING);
+    this.STATUS_SUCCESS =
+        codeCache.getId(CodeGroups.MESSAGE_SEND_STATUS, MessageSendStatus.SUCCESS);
+    this.STATUS_FAILED =
+        codeCache.getId(CodeGroups.MESSAGE_SEND_STATUS, MessageSendStatus.FAILED);
+    this.STATUS_EXCEEDED =
+        codeCache.getId(CodeGroups.MESSAGE_SEND_STATUS, MessageSendStatus.EXCEEDED);
+
+    flushScheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 발송 결과 등록
+   * - 트랜잭션 안에서 호출되면 커밋 이후에 등록 (선점 UPDATE 커밋 전에 확정 UPDATE 가 나가지 않도록)
+   *
+   * @param claimedAt   선점 시각 (선점 token, 그 사이 재선점됐으면 확정 0건)
+   * @param onCommitted 확정 커밋 이후 실행할 콜백 (stream ACK), null 가능
+   */
+  public void submit(Long messageId, LocalDateTime claimedAt, boolean success,
+      Runnable onCommitted) {
+    Outcome outcome = new Outcome(messageId, claimedAt, success, onCommitted);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          enqueue(outcome);
+        }
+      });
+      return;
+    }
+    enqueue(outcome);
+  }
+
+  /**
+   * 확정 대기 중인 결과 건수
+   */
+  public int pendingCount() {
+    return queued.get();
+  }
+
+  private void enqueue(Outcome outcome) {
+    queue.add(outcome);
+    queued.incrementAndGet();
+    if (closed) { // 종료 중 늦게 도착한 결과 (비동기 발송 응답 등)는 호출 스레드에서 바로 확정
+      drainSafely();
+      return;
+    }
+    if (queued.get() >= flushSize && flushRequested.compareAndSet(false, true)) {
+      try {
+        flushScheduler.execute(this::flushSafely);
+      } catch (RejectedExecutionException e) { // flushScheduler 종료 이후
+        drainSafely();
+      }
+    }
+  }
+
+  /**
+   * 종료 시 남은 결과 확정 (주기 flush 가 진행 중이면 끝날 때까지 기다렸다가 남은 것까지)
+   */
+  @PreDestroy
+  void close() {
+    closed = true;
+    drainSafely();
+    log.info("[SHUTDOWN] status writer drained. remaining={}", queued.get());
+  }
+
+  private void drainSafely() {
+    flushLock.lock();
+    try {
+      drain();
+    } catch (Exception e) {
+      log.error("[FAIL] status flush failed", e);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (Exception e) { // 예외로 주기 작업이 중단되지 않도록
+      log.error("[FAIL] status flush failed", e);
+    }
+  }
+
+  /**
+   * 쌓인 결과를 flush-size 단위로 나눠서 확정
+   */
+  void flush() {
+    if (!flushLock.tryLock()) {
+      return;
+    }
+    try {
+      flushRequested.set(false);
+      drain();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  // flushLock 보유 중에만 호출
+  private void drain() {
+    while (!queue.isEmpty()) {
+      List<Outcome> batch = new ArrayList<>(flushSize);
+      Outcome outcome;
+      while (batch.size() < flushSize && (outcome = queue.poll()) != null) {
+        batch.add(outcome);
+      }
+      queued.addAndGet(-batch.size());
+      write(batch);
+    }
+  }
+
+  private void write(List<Outcome> batch) {
+    // batch 선점은 선점 시각이 같으므로 보통 token 별 몇 묶음
+    Map<LocalDateTime, List<Long>> successIds = new LinkedHashMap<>();
+    Map<LocalDateTime, List<Long>> failedIds = new LinkedHashMap<>();
+    for (Outcome outcome : batch) {
+      (outcome.success ? successIds : failedIds)
+          .computeIfAbsent(outcome.claimedAt, k -> new ArrayList<>()).add(outcome.messageId);
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(tx -> {
+        successIds.forEach((claimedAt, ids) -> messageSendResultRepository.markSuccessAll(ids,
+            STATUS_PROCESSING, STATUS_SUCCESS, claimedAt));
+        failedIds.forEach((claimedAt, ids) -> messageSendResultRepository.markFailedOrExceededAll(
+            ids, STATUS_PROCESSING, STATUS_FAILED, STATUS_EXCEEDED,
+            MessageProcessService.MAX_EMAIL_RETRY_COUNT, claimedAt));
+      });
+    } catch (Exception e) { // 확정 실패 시 ACK 하지 않고 PENDING 유지
+      log.error("[FAIL] status flush failed. size={}", batch.size(), e);
+      return;
+    }
+
+    for (Outcome outcome : batch) {
+      if (outcome.onCommitted == null) {
+        continue;
+      }
+      try {
+        outcome.onCommitted.run();
+      } catch (Exception e) {
+        log.warn("[WARN] status commit callback failed. id={}", outcome.messageId, e);
+      }
+    }
+  }
+
+  private record Outcome(Long messageId, LocalDateTime claimedAt, boolean success,
+      Runnable onCommitted) {
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.messagesender.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.messagesender.common.cache.BoundedTtlCache;
+import com.example.messagesender.dto.UserContact;
+import com.example.messagesender.repository.UserRepository;
+
+/**
+ * 사용자 연락처 로더
+ * - stream batch 단위로 캐시에 없는 사용자만 IN 조회 1회로 적재
+ * - 연락처(이름/전화/이메일)만 크기/TTL 제한 캐시에 보관
+ */
+@Component
+public class UserContactLoader {
+
+  private final UserRepository userRepository;
+  private final BoundedTtlCache<Long, UserContact> cache;
+
+  public UserContactLoader(UserRepository userRepository,
+      @Value("${message.user-cache.max-size:10000}") int maxSize,
+      @Value("${message.user-cache.ttl-seconds:60}") long ttlSeconds) {
+    this.userRepository = userRepository;
+    this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000L);
+  }
+
+  public UserContact get(Long userId) {
+    UserContact contact = loadAll(List.of(userId)).get(userId);
+    if (contact == null) {
+      throw new IllegalArgumentException("사용자 정보 없음: user_id=" + userId);
+    }
+    return contact;
+  }
+
+  /**
+   * @return userId -> 연락처 (없는 사용자는 맵에 없음)
+   */
+  public Map<Long, UserContact> loadAll(Collection<Long> userIds) {
+    Map<Long, UserContact> contacts = new HashMap<>();
+    Set<Long> missing = new LinkedHashSet<>();
+    for (Long userId : userIds) {
+      UserContact cached = cache.getIfPresent(userId);
+      if (cached != null) {
+        contacts.put(userId, cached);
+      } else {
+        missing.add(userId);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      for (UserContact contact : userRepository.findContactsByIdIn(missing)) {
+        cache.put(contact.getId(), contact);
+        contacts.put(contact.getId(), contact);
+      }
+    }
+    return contacts;
+  }
+}
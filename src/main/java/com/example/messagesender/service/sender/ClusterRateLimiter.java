@@ -0,0 +1,159 @@
+package com.example.messagesender.service.sender;
+
+import com.example.messagesender.common.code.enums.MessageChannel;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채널별 클러스터 전체 TPS 제한 (sender.rate-limit.{channel}.cluster-tps > 0 인 채널만)
+ * - 1초 window 별 Redis 카운터에서 lease-size 개씩 한 번에 할당받아 노드 안에서 소진 (발송 1건당 Redis 호출 없음)
+ * - window 한도를 다 쓰면 다음 window 시작까지 대기
+ * - Redis 장애 시 그 window 동안 클러스터 제한 없이 진행 (노드별 token bucket 은 그대로 적용)
+ */
+@Slf4j
+@Component
+public class ClusterRateLimiter {
+
+  // window 카운터 증가 후 한도 안에서 실제 할당한 개수 반환
+  private static final RedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>("""
+      local used = redis.call('INCRBY', KEYS[1], ARGV[1])
+      if used == tonumber(ARGV[1]) then
+        redis.call('PEXPIRE', KEYS[1], ARGV[3])
+      end
+      local granted = tonumber(ARGV[1]) - math.max(0, used - tonumber(ARGV[2]))
+      if granted < 0 then
+        return 0
+      end
+      return granted
+      """, Long.class);
+
+  private static final long WINDOW_MILLIS = 1000L;
+
+  private final StringRedisTemplate redisTemplate;
+  private final String keyPrefix;
+  private final int leaseSize;
+
+  // 채널별 현재 window 잔여 lease (발송 1건은 CAS 1회, Redis 호출은 lease 소진 시 채널당 1개 스레드만)
+  private final Map<MessageChannel, Lease> leases = new EnumMap<>(MessageChannel.class);
+
+  public ClusterRateLimiter(StringRedisTemplate redisTemplate,
+      @Value("${sender.rate-limit.cluster.key-prefix:message-sender:rate}") String keyPrefix,
+      @Value("${sender.rate-limit.cluster.lease-size:10}") int leaseSize) {
+    this.redisTemplate = redisTemplate;
+    this.keyPrefix = keyPrefix;
+    this.leaseSize = Math.max(1, Math.min(Lease.MAX_REMAINING, leaseSize));
+    for (MessageChannel channel : MessageChannel.values()) {
+      leases.put(channel, new Lease());
+    }
+  }
+
+  /**
+   * 클러스터 한도 안에서 1건 허용될 때까지 대기
+   * - lease 가 남아 있으면 CAS 로 바로 통과 (lock 없음)
+   * - lease 가 비면 한 스레드만 Redis 에서 다시 받아오고, 나머지는 그 결과(future)를 기다림
+   *   (monitor 를 쥔 채 네트워크 I/O 를 하지 않음 -> virtual thread 가 carrier 에 고정되지 않음)
+   */
+  public void acquire(MessageChannel channel, int clusterTps) {
+    Lease lease = leases.get(channel);
+    while (true) {
+      long window = System.currentTimeMillis() / WINDOW_MILLIS;
+      if (lease.tryTake(window) || lease.failOpenWindow == window) {
+        return;
+      }
+      if (lease.exhaustedWindow != window) {
+        refill(lease, channel, window, clusterTps).join();
+        continue;
+      }
+      // 이번 window 한도 소진: 다음 window 까지 대기
+      long nextWindowMillis = (window + 1) * WINDOW_MILLIS - System.currentTimeMillis();
+      LockSupport.parkNanos(this, Math.max(1L, nextWindowMillis) * 1_000_000L);
+    }
+  }
+
+  // single-flight: 이미 다른 스레드가 받아오는 중이면 그 future 를 반환
+  private CompletableFuture<Void> refill(Lease lease, MessageChannel channel, long window,
+      int clusterTps) {
+    CompletableFuture<Void> mine = new CompletableFuture<>();
+    CompletableFuture<Void> running = lease.refilling.compareAndExchange(null, mine);
+    if (running != null) {
+      return running;
+    }
+    try {
+      if (lease.hasRemaining(window)) { // 기다리는 사이 다른 스레드가 이미 받아옴
+        return mine;
+      }
+      int requested = Math.min(leaseSize, clusterTps);
+      Long granted = lease(channel, window, clusterTps);
+      if (granted == null) { // Redis 장애: 이번 window 는 제한 없이 진행
+        lease.failOpenWindow = window;
+      } else {
+        lease.reset(window, granted.intValue());
+        if (granted < requested) {
+          lease.exhaustedWindow = window;
+        }
+      }
+      return mine;
+    } finally {
+      lease.refilling.set(null);
+      mine.complete(null);
+    }
+  }
+
+  private Long lease(MessageChannel channel, long window, int clusterTps) {
+    String key = keyPrefix + ":" + channel.name().toLowerCase(Locale.ROOT) + ":" + window;
+    try {
+      return redisTemplate.execute(LEASE_SCRIPT, List.of(key),
+          String.valueOf(Math.min(leaseSize, clusterTps)), String.valueOf(clusterTps),
+          String.valueOf(WINDOW_MILLIS * 2));
+    } catch (Exception e) {
+      log.warn("[WARN] cluster rate limit lease failed, skipping. channel={}", channel, e);
+      return null;
+    }
+  }
+
+  private static final class Lease {
+    // state = (window << 24) | 남은 개수
+    private static final int REMAINING_BITS = 24;
+    private static final int MAX_REMAINING = (1 << REMAINING_BITS) - 1;
+
+    private final AtomicLong state = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Void>> refilling = new AtomicReference<>();
+    // 이번 window 에서 한도를 다 받아서 더 요청해도 0 인 window
+    private volatile long exhaustedWindow = -1;
+    // Redis 장애로 제한 없이 진행하는 window
+    private volatile long failOpenWindow = -1;
+
+    private boolean tryTake(long window) {
+      while (true) {
+        long current = state.get();
+        if (current >>> REMAINING_BITS != window || (current & MAX_REMAINING) == 0) {
+          return false;
+        }
+        if (state.compareAndSet(current, current - 1)) {
+          return true;
+        }
+      }
+    }
+
+    private boolean hasRemaining(long window) {
+      long current = state.get();
+      return current >>> REMAINING_BITS == window && (current & MAX_REMAINING) > 0;
+    }
+
+    private void reset(long window, int remaining) {
+      state.set((window << REMAINING_BITS) | Math.min(remaining, MAX_REMAINING));
+    }
+  }
+}
@@ -2,20 +2,48 @@ package com.example.messagesender.service.sender;
 
 import com.example.messagesender.common.code.enums.MessageChannel;
 import com.example.messagesender.sender.MessageSender;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * 채널별 sender 제공 (sender.rate-limit.{email|sms}.* 설정이 있으면 RateLimitedMessageSender 로 감쌈)
+ * - tps: 노드 token bucket 초당 발송 수 (0 이면 제한 없음), burst: 한 번에 허용하는 최대 건수
+ * - max-in-flight: 노드 동시 발송 수 (0 이면 제한 없음)
+ * - cluster-tps: Redis 로 공유하는 클러스터 전체 초당 발송 수 (0 이면 사용 안 함)
+ */
 @Component
 public class MessageSenderFactory {
 
   private final Map<MessageChannel, MessageSender> senderMap;
 
-  public MessageSenderFactory(List<MessageSender> senders) {
-    this.senderMap =
-        senders.stream().collect(Collectors.toMap(MessageSender::channel, Function.identity()));
+  public MessageSenderFactory(List<MessageSender> senders, ClusterRateLimiter clusterRateLimiter,
+      MeterRegistry meterRegistry,
+      @Value("${sender.rate-limit.email.tps:0}") double emailTps,
+      @Value("${sender.rate-limit.email.burst:10}") int emailBurst,
+      @Value("${sender.rate-limit.email.max-in-flight:0}") int emailMaxInFlight,
+      @Value("${sender.rate-limit.email.cluster-tps:0}") int emailClusterTps,
+      @Value("${sender.rate-limit.sms.tps:0}") double smsTps,
+      @Value("${sender.rate-limit.sms.burst:10}") int smsBurst,
+      @Value("${sender.rate-limit.sms.max-in-flight:0}") int smsMaxInFlight,
+      @Value("${sender.rate-limit.sms.cluster-tps:0}") int smsClusterTps) {
+    Map<MessageChannel, Limits> limits = new EnumMap<>(MessageChannel.class);
+    limits.put(MessageChannel.EMAIL,
+        new Limits(emailTps, emailBurst, emailMaxInFlight, emailClusterTps));
+    limits.put(MessageChannel.SMS, new Limits(smsTps, smsBurst, smsMaxInFlight, smsClusterTps));
+
+    this.senderMap = senders.stream()
+        .map(sender -> limited(sender, limits.get(sender.channel()), clusterRateLimiter,
+            meterRegistry))
+        .collect(Collectors.toMap(MessageSender::channel, Function.identity()));
   }
 
   public MessageSender getSender(MessageChannel channel) {
@@ -25,4 +53,35 @@ public class MessageSenderFactory {
     }
     return sender;
   }
+
+  private static MessageSender limited(MessageSender sender, Limits limits,
+      ClusterRateLimiter clusterRateLimiter, MeterRegistry meterRegistry) {
+    if (limits == null || !limits.enabled()) {
+      return sender;
+    }
+    String channel = sender.channel().name().toLowerCase(Locale.ROOT);
+    Timer throttleTimer = Timer.builder("message.sender.throttle.wait")
+        .description("발송 제한(TPS/동시 발송 수) 대기 시간")
+        .tag("channel", channel)
+        .register(meterRegistry);
+
+    RateLimitedMessageSender limited = new RateLimitedMessageSender(sender,
+        limits.tps() > 0 ? new TokenBucket(limits.tps(), Math.max(1, limits.burst())) : null,
+        limits.maxInFlight(), limits.clusterTps() > 0 ? clusterRateLimiter : null,
+        limits.clusterTps(), throttleTimer);
+    if (limits.maxInFlight() > 0) {
+      Gauge.builder("message.sender.in.flight", limited, RateLimitedMessageSender::inFlightCount)
+          .description("채널별 발송 중인 건수")
+          .tag("channel", channel)
+          .register(meterRegistry);
+    }
+    return limited;
+  }
+
+  private record Limits(double tps, int burst, int maxInFlight, int clusterTps) {
+
+    boolean enabled() {
+      return tps > 0 || maxInFlight > 0 || clusterTps > 0;
+    }
+  }
 }
@@ -0,0 +1,123 @@
+package com.example.messagesender.service.sender;
+
+import com.example.messagesender.common.code.enums.MessageChannel;
+import com.example.messagesender.dto.send.SendRequest;
+import com.example.messagesender.dto.send.SendResult;
+import com.example.messagesender.sender.MessageSender;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 채널 발송 제한 decorator (MessageSenderFactory 가 감쌈)
+ * - 순서: 클러스터 TPS(Redis) -> 노드 token bucket -> 동시 발송 수(max-in-flight)
+ * - 한도를 넘으면 실패시키지 않고 대기 (게이트웨이 429 로 EMAIL 재시도 횟수를 소모하지 않도록)
+ * - 비동기 발송은 응답이 올 때까지 in-flight 1건, 묶음 발송은 TPS 는 건수만큼 / in-flight 는 호출 1건으로 계산
+ * - 대기는 호출 스레드에서 하므로 DB 트랜잭션(행 잠금, 커넥션) 밖에서 호출할 것
+ */
+public class RateLimitedMessageSender implements MessageSender {
+
+  private final MessageSender delegate;
+  private final TokenBucket tokenBucket;
+  private final Semaphore inFlight;
+  private final int maxInFlight;
+  private final ClusterRateLimiter clusterRateLimiter;
+  private final int clusterTps;
+  private final Timer throttleTimer;
+
+  /**
+   * @param tokenBucket        null 이면 노드 TPS 제한 없음
+   * @param maxInFlight        0 이하면 동시 발송 수 제한 없음
+   * @param clusterRateLimiter null 이면 클러스터 TPS 제한 없음
+   */
+  public RateLimitedMessageSender(MessageSender delegate, TokenBucket tokenBucket,
+      int maxInFlight, ClusterRateLimiter clusterRateLimiter, int clusterTps,
+      Timer throttleTimer) {
+    this.delegate = delegate;
+    this.tokenBucket = tokenBucket;
+    this.maxInFlight = maxInFlight;
+    this.inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+    this.clusterRateLimiter = clusterRateLimiter;
+    this.clusterTps = clusterTps;
+    this.throttleTimer = throttleTimer;
+  }
+
+  @Override
+  public MessageChannel channel() {
+    return delegate.channel();
+  }
+
+  @Override
+  public SendResult mockSend(SendRequest request) {
+    return throttled(() -> delegate.mockSend(request));
+  }
+
+  @Override
+  public SendResult send(SendRequest request) {
+    return throttled(() -> delegate.send(request));
+  }
+
+  @Override
+  public CompletableFuture<SendResult> sendAsync(SendRequest request) {
+    acquire(1);
+    CompletableFuture<SendResult> future;
+    try {
+      future = delegate.sendAsync(request);
+    } catch (RuntimeException e) {
+      release();
+      throw e;
+    }
+    return future.whenComplete((result, error) -> release());
+  }
+
+  @Override
+  public List<SendResult> sendBatch(List<? extends SendRequest> requests) {
+    acquire(requests.size());
+    try {
+      return delegate.sendBatch(requests);
+    } finally {
+      release();
+    }
+  }
+
+  private SendResult throttled(Supplier<SendResult> call) {
+    acquire(1);
+    try {
+      return call.get();
+    } finally {
+      release();
+    }
+  }
+
+  private void acquire(int messages) {
+    long started = System.nanoTime();
+    for (int i = 0; i < messages; i++) {
+      if (clusterRateLimiter != null) {
+        clusterRateLimiter.acquire(delegate.channel(), clusterTps);
+      }
+      if (tokenBucket != null) {
+        tokenBucket.acquire();
+      }
+    }
+    if (inFlight != null) {
+      inFlight.acquireUninterruptibly();
+    }
+    throttleTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+  }
+
+  private void release() {
+    if (inFlight != null) {
+      inFlight.release();
+    }
+  }
+
+  /**
+   * 현재 발송 중인 건수 (제한 없으면 -1)
+   */
+  public int inFlightCount() {
+    return inFlight == null ? -1 : maxInFlight - inFlight.availablePermits();
+  }
+}
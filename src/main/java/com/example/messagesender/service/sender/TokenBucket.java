@@ -0,0 +1,58 @@
+package com.example.messagesender.service.sender;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 노드 내 token bucket (GCRA: 다음 토큰 시각 하나만 CAS 로 갱신, lock 없음)
+ * - 초당 tps 개, 최대 burst 개까지 한 번에 허용
+ * - 토큰이 없으면 실패 대신 토큰 시각까지 park (예약 방식이라 대기 순서대로 정확히 tps 유지)
+ */
+public class TokenBucket {
+
+  private final long intervalNanos;
+  private final long burstNanos;
+
+  // 다음 요청의 이론적 도착 시각 (theoretical arrival time, System.nanoTime 기준)
+  private final AtomicLong tat;
+
+  public TokenBucket(double tps, int burst) {
+    if (tps <= 0 || burst <= 0) {
+      throw new IllegalArgumentException("tps/burst 는 0보다 커야 함");
+    }
+    this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / tps));
+    this.burstNanos = intervalNanos * burst;
+    this.tat = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * 토큰 1개 예약 후 사용 가능 시각까지 대기
+   *
+   * @return 대기한 시간(ns)
+   */
+  public long acquire() {
+    long wait = reserve();
+    if (wait <= 0) {
+      return 0;
+    }
+    long deadline = System.nanoTime() + wait;
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(this, remaining);
+    }
+    return wait;
+  }
+
+  // 예약한 토큰까지 남은 시간(ns), 0 이하면 즉시 사용 가능
+  long reserve() {
+    while (true) {
+      long now = System.nanoTime();
+      long current = tat.get();
+      long next = Math.max(current, now) + intervalNanos;
+      if (tat.compareAndSet(current, next)) {
+        return next - now - burstNanos;
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.messagesender.service.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 미리 분해해둔 템플릿 문자열: literal / 변수 slot 이 번갈아 나오는 segment 배열
+ * - literals[0] keys[0] literals[1] keys[1] ... literals[n]
+ * - 치환 규칙은 기존 정규식 {([a-zA-Z0-9_]+)} 와 동일 (값 없으면 빈 문자열)
+ */
+public final class CompiledTemplate {
+
+  // 변수 1개당 치환값 길이 추정치 (StringBuilder 초기 용량 계산용)
+  private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+  private final String[] literals;
+  private final String[] keys;
+  private final int literalLength;
+
+  private CompiledTemplate(String[] literals, String[] keys, int literalLength) {
+    this.literals = literals;
+    this.keys = keys;
+    this.literalLength = literalLength;
+  }
+
+  public static CompiledTemplate compile(String text) {
+    List<String> literals = new ArrayList<>();
+    List<String> keys = new ArrayList<>();
+
+    int literalStart = 0;
+    int i = 0;
+    int len = text.length();
+    while (i < len) {
+      if (text.charAt(i) != '{') {
+        i++;
+        continue;
+      }
+      int end = i + 1;
+      while (end < len && isKeyChar(text.charAt(end))) {
+        end++;
+      }
+      if (end > i + 1 && end < len && text.charAt(end) == '}') {
+        literals.add(text.substring(literalStart, i));
+        keys.add(text.substring(i + 1, end));
+        i = end + 1;
+        literalStart = i;
+      } else {
+        // placeholder 가 아닌 '{' 는 그대로 두고 다음 글자부터 다시 탐색
+        i++;
+      }
+    }
+    literals.add(text.substring(literalStart));
+
+    int literalLength = 0;
+    for (String literal : literals) {
+      literalLength += literal.length();
+    }
+    return new CompiledTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]),
+        literalLength);
+  }
+
+  private static boolean isKeyChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+        || c == '_';
+  }
+
+  public String render(Map<String, String> values) {
+    if (keys.length == 0) {
+      return literals[0];
+    }
+
+    StringBuilder sb = new StringBuilder(literalLength + keys.length * ESTIMATED_VALUE_LENGTH);
+    for (int i = 0; i < keys.length; i++) {
+      sb.append(literals[i]);
+      String val = values.get(keys[i]);
+      if (val != null) {
+        sb.append(val);
+      }
+    }
+    sb.append(literals[keys.length]);
+    return sb.toString();
+  }
+
+  /**
+   * 템플릿이 참조하는 변수명 (등장 순서, 중복 제거)
+   */
+  public Set<String> placeholders() {
+    Set<String> names = new LinkedHashSet<>();
+    Collections.addAll(names, keys);
+    return names;
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.messagesender.service.template;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * billing_settlements.detail_json 합계 (사용 금액 + 할인 3종)
+ */
+@Getter
+@AllArgsConstructor
+public class DetailAggregate {
+
+  private final long usageAmount;
+  private final long contractDiscount;
+  private final long bundledDiscount;
+  private final long premierDiscount;
+
+  public long getDiscountAmount() {
+    return contractDiscount + bundledDiscount + premierDiscount;
+  }
+}
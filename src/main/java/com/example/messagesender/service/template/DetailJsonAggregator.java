@@ -0,0 +1,203 @@
+package com.example.messagesender.service.template;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.messagesender.common.cache.BoundedTtlCache;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * detail_json 스트리밍 합산기 (JsonNode 트리를 만들지 않고 한 번 훑으면서 합계 계산)
+ * - ARRAY: 항목별 chargedPrice / 할인 3종 합산
+ * - OBJECT: usageAmount(totalPrice, chargedPrice) / 할인 3종 단일 값
+ * - 숫자/문자열("47,000") 처리 규칙은 기존 readLong 과 동일, 그 외 타입은 0
+ * - 정산서 id + detail_json 내용 기준 결과 캐시 (재시도/채널 fallback 시 재사용)
+ *   정산서가 재계산되어 detail_json 이 바뀌면 다른 key 라 TTL 과 관계없이 새로 합산
+ */
+@Component
+public class DetailJsonAggregator {
+
+  // 관심 필드 index
+  private static final int CHARGED_PRICE = 0;
+  private static final int CONTRACT = 1;
+  private static final int CONTRACT_UPPER = 2;
+  private static final int BUNDLED = 3;
+  private static final int BUNDLED_UPPER = 4;
+  private static final int PREMIER = 5;
+  private static final int PREMIER_UPPER = 6;
+  private static final int USAGE_AMOUNT = 7;
+  private static final int TOTAL_PRICE = 8;
+  private static final int FIELD_COUNT = 9;
+
+  private final JsonFactory jsonFactory;
+  private final BoundedTtlCache<CacheKey, CachedAggregate> cache;
+
+  public DetailJsonAggregator(ObjectMapper objectMapper,
+      @Value("${message.detail-cache.max-size:10000}") int maxSize,
+      @Value("${message.detail-cache.ttl-seconds:600}") long ttlSeconds) {
+    this(objectMapper.getFactory(), new BoundedTtlCache<>(maxSize, ttlSeconds * 1000L));
+  }
+
+  private DetailJsonAggregator(JsonFactory jsonFactory,
+      BoundedTtlCache<CacheKey, CachedAggregate> cache) {
+    this.jsonFactory = jsonFactory;
+    this.cache = cache;
+  }
+
+  /**
+   * 캐시 없이 사용 (빈 주입이 없는 경로용)
+   */
+  public static DetailJsonAggregator uncached(ObjectMapper objectMapper) {
+    return new DetailJsonAggregator(objectMapper.getFactory(), null);
+  }
+
+  /**
+   * 정산서 id + detail_json 해시 기준 캐시 조회 후 없으면 합산
+   * (해시 충돌 시 다른 내용의 결과를 쓰지 않도록 캐시된 detail_json 과 같은지 확인)
+   */
+  public DetailAggregate aggregate(Long settlementId, String detailJson) throws IOException {
+    if (cache == null || settlementId == null || detailJson == null) {
+      return aggregate(detailJson);
+    }
+    CacheKey key = new CacheKey(settlementId, detailJson.hashCode());
+    CachedAggregate cached = cache.getIfPresent(key);
+    if (cached != null && cached.detailJson().equals(detailJson)) {
+      return cached.aggregate();
+    }
+    DetailAggregate aggregate = aggregate(detailJson);
+    cache.put(key, new CachedAggregate(detailJson, aggregate));
+    return aggregate;
+  }
+
+  public DetailAggregate aggregate(String detailJson) throws IOException {
+    try (JsonParser p = jsonFactory.createParser(detailJson)) {
+      JsonToken t = p.nextToken();
+
+      if (t == JsonToken.START_ARRAY) {
+        long usageAmount = 0L;
+        long contract = 0L;
+        long bundled = 0L;
+        long premier = 0L;
+
+        long[] values = new long[FIELD_COUNT];
+        boolean[] present = new boolean[FIELD_COUNT];
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+          if (t == null) {
+            throw new IOException("detail_json 배열이 닫히지 않음");
+          }
+          if (t != JsonToken.START_OBJECT) {
+            p.skipChildren(); // 객체가 아닌 항목은 합산 대상 아님
+            continue;
+          }
+          readObject(p, values, present);
+          usageAmount += first(values, present, CHARGED_PRICE);
+          contract += first(values, present, CONTRACT);
+          bundled += first(values, present, BUNDLED, BUNDLED_UPPER);
+          premier += first(values, present, PREMIER, PREMIER_UPPER);
+        }
+        return new DetailAggregate(usageAmount, contract, bundled, premier);
+      }
+
+      if (t == JsonToken.START_OBJECT) {
+        long[] values = new long[FIELD_COUNT];
+        boolean[] present = new boolean[FIELD_COUNT];
+        readObject(p, values, present);
+        return new DetailAggregate(
+            first(values, present, USAGE_AMOUNT, TOTAL_PRICE, CHARGED_PRICE),
+            first(values, present, CONTRACT, CONTRACT_UPPER),
+            first(values, present, BUNDLED, BUNDLED_UPPER),
+            first(values, present, PREMIER, PREMIER_UPPER));
+      }
+
+      if (t == null) {
+        throw new IOException("detail_json 비어 있음");
+      }
+      return new DetailAggregate(0L, 0L, 0L, 0L);
+    }
+  }
+
+  /**
+   * START_OBJECT 다음부터 END_OBJECT 까지 읽으면서 관심 필드만 기록 (중첩 값은 건너뜀, 중복 키는 마지막 값)
+   */
+  private void readObject(JsonParser p, long[] values, boolean[] present) throws IOException {
+    Arrays.fill(present, false);
+    JsonToken t;
+    while ((t = p.nextToken()) == JsonToken.FIELD_NAME) {
+      int field = fieldIndex(p.currentName());
+      JsonToken valueToken = p.nextToken();
+      if (field < 0) {
+        p.skipChildren();
+        continue;
+      }
+      if (valueToken == JsonToken.VALUE_NULL) {
+        present[field] = false; // JSON null 은 없는 값으로 취급
+        continue;
+      }
+      present[field] = true;
+      values[field] = readLong(p, valueToken);
+    }
+    if (t != JsonToken.END_OBJECT) {
+      throw new IOException("detail_json 객체가 닫히지 않음");
+    }
+  }
+
+  private static int fieldIndex(String name) {
+    return switch (name) {
+      case "chargedPrice" -> CHARGED_PRICE;
+      case "contractDiscountPrice" -> CONTRACT;
+      case "ContractDiscountPrice" -> CONTRACT_UPPER;
+      case "bundledDiscountPrice" -> BUNDLED;
+      case "BundledDiscountPrice" -> BUNDLED_UPPER;
+      case "premierDiscountPrice" -> PREMIER;
+      case "PremierDiscountPrice" -> PREMIER_UPPER;
+      case "usageAmount" -> USAGE_AMOUNT;
+      case "totalPrice" -> TOTAL_PRICE;
+      default -> -1;
+    };
+  }
+
+  // 처음으로 존재하는(null 아닌) 필드 값
+  private static long first(long[] values, boolean[] present, int... fields) {
+    for (int field : fields) {
+      if (present[field]) {
+        return values[field];
+      }
+    }
+    return 0L;
+  }
+
+  private static long readLong(JsonParser p, JsonToken token) throws IOException {
+    switch (token) {
+      case VALUE_NUMBER_INT:
+        return p.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+            ? p.getBigIntegerValue().longValue()
+            : p.getLongValue();
+      case VALUE_NUMBER_FLOAT:
+        return (long) p.getDoubleValue();
+      case VALUE_STRING: {
+        String s = p.getText().replace(",", "").trim();
+        if (s.isBlank())
+          return 0L;
+        try {
+          return Long.parseLong(s);
+        } catch (Exception e) {
+          return 0L;
+        }
+      }
+      default:
+        p.skipChildren(); // 객체/배열/boolean 은 0
+        return 0L;
+    }
+  }
+
+  private record CacheKey(Long settlementId, int detailJsonHash) {
+  }
+
+  // detail_json 은 정산서 엔티티가 이미 들고 있는 문자열을 참조 (복사 없음)
+  private record CachedAggregate(String detailJson, DetailAggregate aggregate) {
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.messagesender.service.template;
+
+import com.example.messagesender.common.cache.BoundedTtlCache;
+import com.example.messagesender.repository.MessageTemplateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 템플릿 read-through 캐시
+ * - 템플릿은 거의 바뀌지 않으므로 TemplateSnapshot 을 크기/TTL 기준으로 보관
+ * - 템플릿 수정은 다른 서비스(관리 화면)에서 하고 이 서비스로 오는 변경 신호가 없음
+ *   -> 수정된 템플릿은 최대 ttl-seconds 뒤에 반영 (TTL 이 유일한 stale 상한, 즉시 반영이 필요하면 TTL 을 줄임)
+ * - 컴파일 결과(MessageTemplateEngine)는 내용 비교로 다시 컴파일하므로 따로 비울 필요 없음
+ */
+@Component
+public class MessageTemplateCache {
+
+  private final MessageTemplateRepository messageTemplateRepository;
+  private final ObjectMapper objectMapper;
+  private final BoundedTtlCache<Long, TemplateSnapshot> cache;
+
+  public MessageTemplateCache(MessageTemplateRepository messageTemplateRepository,
+      ObjectMapper objectMapper, @Value("${message.template-cache.max-size:256}") int maxSize,
+      @Value("${message.template-cache.ttl-seconds:300}") long ttlSeconds) {
+    this.messageTemplateRepository = messageTemplateRepository;
+    this.objectMapper = objectMapper;
+    this.cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000L);
+  }
+
+  public TemplateSnapshot get(Long templateId) {
+    TemplateSnapshot snapshot = cache.get(templateId, this::load);
+    if (snapshot == null) {
+      throw new IllegalArgumentException("템플릿 없음: template_id=" + templateId);
+    }
+    return snapshot;
+  }
+
+  private TemplateSnapshot load(Long templateId) {
+    return messageTemplateRepository.findWithCodesById(templateId)
+        .map(template -> TemplateSnapshot.from(template, objectMapper))
+        .orElse(null);
+  }
+}
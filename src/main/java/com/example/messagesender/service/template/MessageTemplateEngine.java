@@ -1,31 +1,79 @@
 package com.example.messagesender.service.template;
 
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
 
+@Component
 public class MessageTemplateEngine {
 
-  private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-zA-Z0-9_]+)\\}");
+  // templateId -> 컴파일된 title/body (내용이 바뀌면 version 비교로 다시 컴파일)
+  private final Map<Long, CompiledEntry> compiledCache = new ConcurrentHashMap<>();
 
+  /**
+   * 캐시 없이 치환 (템플릿 id 가 없는 경우)
+   */
   public RenderedMessage render(String title, String body, Map<String, String> values) {
-    return new RenderedMessage(replace(title, values), replace(body, values));
+    return new RenderedMessage(replace(compile(title), values), replace(compile(body), values));
   }
 
-  private String replace(String text, Map<String, String> values) {
-    if (text == null)
+  /**
+   * templateId + 내용 version 기준으로 컴파일 결과를 재사용해서 치환
+   */
+  public RenderedMessage render(Long templateId, String title, String body,
+      Map<String, String> values) {
+    CompiledEntry entry = compiled(templateId, title, body);
+    return new RenderedMessage(replace(entry.title, values), replace(entry.body, values));
+  }
+
+  /**
+   * 컴파일된 템플릿 조회 (없거나 내용이 바뀌었으면 다시 컴파일)
+   */
+  CompiledEntry compiled(Long templateId, String title, String body) {
+    int version = version(title, body);
+    CompiledEntry entry = compiledCache.get(templateId);
+    if (entry == null || !entry.matches(version, title, body)) {
+      entry = new CompiledEntry(version, title, body, compile(title), compile(body));
+      compiledCache.put(templateId, entry);
+    }
+    return entry;
+  }
+
+  private CompiledTemplate compile(String text) {
+    return text == null ? null : CompiledTemplate.compile(text);
+  }
+
+  private String replace(CompiledTemplate template, Map<String, String> values) {
+    if (template == null)
       return null;
+    return template.render(values);
+  }
 
-    Matcher m = PLACEHOLDER.matcher(text);
-    StringBuffer sb = new StringBuffer();
+  private static int version(String title, String body) {
+    return 31 * Objects.hashCode(title) + Objects.hashCode(body);
+  }
 
-    while (m.find()) {
-      String key = m.group(1);
-      String val = values.getOrDefault(key, "");
-      m.appendReplacement(sb, Matcher.quoteReplacement(val));
+  static final class CompiledEntry {
+    private final int version;
+    private final String titleSource;
+    private final String bodySource;
+    final CompiledTemplate title;
+    final CompiledTemplate body;
+
+    private CompiledEntry(int version, String titleSource, String bodySource,
+        CompiledTemplate title, CompiledTemplate body) {
+      this.version = version;
+      this.titleSource = titleSource;
+      this.bodySource = bodySource;
+      this.title = title;
+      this.body = body;
     }
 
-    m.appendTail(sb);
-    return sb.toString();
+    // version 이 같아도 hash 충돌 가능성이 있어 원문까지 비교 (같은 인스턴스면 참조 비교로 끝남)
+    private boolean matches(int version, String title, String body) {
+      return this.version == version && Objects.equals(titleSource, title)
+          && Objects.equals(bodySource, body);
+    }
   }
 }
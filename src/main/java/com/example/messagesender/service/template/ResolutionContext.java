@@ -0,0 +1,21 @@
+package com.example.messagesender.service.template;
+
+import com.example.messagesender.dto.UserContact;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 변수 치환 컨텍스트: 발송 처리 중 이미 조회한 사용자/템플릿/예약 대상월을 치환 단계까지 그대로 전달 (재조회 방지)
+ */
+@Getter
+@Builder
+public class ResolutionContext {
+
+  private final Long userId;
+  private final UserContact user;
+  private final TemplateSnapshot template;
+  private final String targetMonth; // 예약 대상월 (NOTICE 는 사용하지 않음)
+
+  // 정산서 조회기 (없으면 단건 조회)
+  private final SettlementLookup settlementLookup;
+}
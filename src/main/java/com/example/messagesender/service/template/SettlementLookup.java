@@ -0,0 +1,57 @@
+package com.example.messagesender.service.template;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import com.example.messagesender.domain.billing.BillingSettlement;
+import com.example.messagesender.repository.BillingSettlementRepository;
+
+/**
+ * 정산서 조회기
+ * - prefetch: 같은 targetMonth 의 정산서를 user_id IN (...) 한 번으로 미리 조회해둔 단기 맵 (batch 1회분)
+ * - 맵에 없거나 다른 월이면 단건 조회로 fallback
+ */
+public class SettlementLookup {
+
+  private final BillingSettlementRepository billingSettlementRepository;
+  private final String targetMonth;
+  private final Map<Long, BillingSettlement> settlementByUserId;
+
+  private SettlementLookup(BillingSettlementRepository billingSettlementRepository,
+      String targetMonth, Map<Long, BillingSettlement> settlementByUserId) {
+    this.billingSettlementRepository = billingSettlementRepository;
+    this.targetMonth = targetMonth;
+    this.settlementByUserId = settlementByUserId;
+  }
+
+  /**
+   * 선조회 없이 매번 단건 조회
+   */
+  public static SettlementLookup direct(BillingSettlementRepository billingSettlementRepository) {
+    return new SettlementLookup(billingSettlementRepository, null, Map.of());
+  }
+
+  /**
+   * targetMonth + userIds 정산서 일괄 선조회
+   */
+  public static SettlementLookup prefetch(BillingSettlementRepository billingSettlementRepository,
+      String targetMonth, Collection<Long> userIds) {
+    Map<Long, BillingSettlement> settlementByUserId = new HashMap<>();
+    for (BillingSettlement settlement : billingSettlementRepository
+        .findAllByTargetMonthAndUserIdIn(targetMonth, userIds)) {
+      settlementByUserId.put(settlement.getUserId(), settlement);
+    }
+    return new SettlementLookup(billingSettlementRepository, targetMonth, settlementByUserId);
+  }
+
+  public Optional<BillingSettlement> find(Long userId, String targetMonth) {
+    if (targetMonth != null && targetMonth.equals(this.targetMonth)) {
+      BillingSettlement settlement = settlementByUserId.get(userId);
+      if (settlement != null) {
+        return Optional.of(settlement);
+      }
+    }
+    return billingSettlementRepository.findByUserIdAndTargetMonth(userId, targetMonth);
+  }
+}
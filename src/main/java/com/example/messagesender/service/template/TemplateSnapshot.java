@@ -0,0 +1,76 @@
+package com.example.messagesender.service.template;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import com.example.messagesender.common.code.enums.MessageChannel;
+import com.example.messagesender.common.code.enums.MessagePurpose;
+import com.example.messagesender.domain.message.MessageTemplate;
+import com.example.messagesender.service.template.TemplateVariablesParser.VariableSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+/**
+ * 캐시용 템플릿 불변 스냅샷
+ * - 채널/목적 코드는 enum 으로, variables_json 은 파싱된 VariableSpec 맵과 옵션으로 미리 풀어둔다.
+ */
+@Getter
+public final class TemplateSnapshot {
+
+  private final Long id;
+  private final String title;
+  private final String body;
+  private final MessageChannel channel;
+  private final MessagePurpose purpose;
+  private final Map<String, VariableSpec> specMap;
+  private final TemplateValueResolverOptions options;
+
+  // 치환에 실제로 쓰이는 키: title/body placeholder + variables_json 키
+  private final Set<String> referencedKeys;
+
+  private TemplateSnapshot(Long id, String title, String body, MessageChannel channel,
+      MessagePurpose purpose, Map<String, VariableSpec> specMap,
+      TemplateValueResolverOptions options, Set<String> referencedKeys) {
+    this.id = id;
+    this.title = title;
+    this.body = body;
+    this.channel = channel;
+    this.purpose = purpose;
+    this.specMap = specMap;
+    this.options = options;
+    this.referencedKeys = referencedKeys;
+  }
+
+  /**
+   * channelType / purposeType 이 초기화된 템플릿에서 생성 (MessageTemplateRepository.findWithCodesById)
+   */
+  public static TemplateSnapshot from(MessageTemplate template, ObjectMapper objectMapper) {
+    Map<String, VariableSpec> specMap =
+        new TemplateVariablesParser(objectMapper).parse(template.getVariablesJson());
+
+    return new TemplateSnapshot(
+        template.getId(),
+        template.getTitle(),
+        template.getBody(),
+        MessageChannel.valueOf(template.getChannelType().getCode()),
+        MessagePurpose.valueOf(template.getPurposeType().getCode()),
+        Collections.unmodifiableMap(specMap),
+        TemplateValueResolverOptions.forVariablesJson(template.getVariablesJson()),
+        Collections.unmodifiableSet(
+            referencedKeys(template.getTitle(), template.getBody(), specMap)));
+  }
+
+  static Set<String> referencedKeys(String title, String body,
+      Map<String, VariableSpec> specMap) {
+    Set<String> keys = new LinkedHashSet<>();
+    if (title != null) {
+      keys.addAll(CompiledTemplate.compile(title).placeholders());
+    }
+    if (body != null) {
+      keys.addAll(CompiledTemplate.compile(body).placeholders());
+    }
+    keys.addAll(specMap.keySet());
+    return keys;
+  }
+}
@@ -1,21 +1,27 @@
 package com.example.messagesender.service.template;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import com.example.messagesender.common.code.enums.MessagePurpose;
 import com.example.messagesender.domain.billing.BillingSettlement;
 import com.example.messagesender.domain.message.MessageReservation;
 import com.example.messagesender.domain.message.MessageSendResult;
 import com.example.messagesender.domain.message.MessageTemplate;
+import com.example.messagesender.dto.UserContact;
 import com.example.messagesender.repository.BillingSettlementRepository;
 import com.example.messagesender.repository.ChargedHistoryRepository;
 import com.example.messagesender.repository.UserRepository;
+import com.example.messagesender.service.template.TemplateVariablesParser.VariableSpec;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class TemplateValueResolver {
 
   private final UserRepository userRepository;
@@ -26,8 +32,20 @@ public class TemplateValueResolver {
   @SuppressWarnings("unused")
   private final ChargedHistoryRepository chargedHistoryRepository;
 
+  private final DetailJsonAggregator detailJsonAggregator;
+
+  public TemplateValueResolver(UserRepository userRepository,
+      BillingSettlementRepository billingSettlementRepository, ObjectMapper objectMapper,
+      ChargedHistoryRepository chargedHistoryRepository) {
+    this(userRepository, billingSettlementRepository, objectMapper, chargedHistoryRepository,
+        DetailJsonAggregator.uncached(objectMapper));
+  }
+
   private static final DecimalFormat MONEY = new DecimalFormat("#,###");
 
+  // JsonFlattener 로 펼칠 때 쓰던 detail_json 키 prefix
+  private static final String DETAIL_PREFIX = "detail";
+
   /**
    * ✅ 기존 시그니처 유지(호환용)
    * - 기존 호출 경로는 일단 BILLING으로 간주
@@ -43,35 +61,62 @@ public class TemplateValueResolver {
    */
   public Map<String, String> resolve(MessageSendResult sendResult, MessageTemplate template,
       MessagePurpose purpose) {
+    var user = userRepository.findById(sendResult.getUserId())
+        .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+    UserContact contact =
+        new UserContact(user.getId(), user.getName(), user.getPhone(), user.getEmail());
+
+    TemplateVariablesParser parser = new TemplateVariablesParser(objectMapper);
+    Map<String, VariableSpec> specMap = parser.parse(template.getVariablesJson());
+    MessageReservation reservation = sendResult.getReservation();
+    return resolve(sendResult.getUserId(), contact,
+        reservation == null ? null : reservation.getTargetMonth(), purpose, specMap,
+        resolveOptions(template),
+        TemplateSnapshot.referencedKeys(template.getTitle(), template.getBody(), specMap),
+        SettlementLookup.direct(billingSettlementRepository));
+  }
+
+  /**
+   * 이미 조회한 사용자/템플릿 스냅샷/예약 정보 기반 (사용자·템플릿 재조회 없음)
+   */
+  public Map<String, String> resolve(ResolutionContext context) {
+    TemplateSnapshot template = context.getTemplate();
+    SettlementLookup settlementLookup = context.getSettlementLookup() != null
+        ? context.getSettlementLookup()
+        : SettlementLookup.direct(billingSettlementRepository);
+    return resolve(context.getUserId(), context.getUser(), context.getTargetMonth(),
+        template.getPurpose(), template.getSpecMap(), template.getOptions(),
+        template.getReferencedKeys(), settlementLookup);
+  }
+
+  private Map<String, String> resolve(Long userId, UserContact user, String targetMonth,
+      MessagePurpose purpose, Map<String, VariableSpec> specMap,
+      TemplateValueResolverOptions options, Set<String> referencedKeys,
+      SettlementLookup settlementLookup) {
 
     Map<String, String> values = new HashMap<>();
 
     // 1) User
-    var user = userRepository.findById(sendResult.getUserId())
-        .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
-
     values.put("userName", safe(user.getName()));
     values.put("email", safe(user.getEmail()));
     values.put("phone", safe(user.getPhone()));
 
     // NOTICE면 여기서 끝
     if (purpose == MessagePurpose.NOTICE) {
-      applyCustomPolicy(template, values);
+      applyCustomPolicy(specMap, values, options);
       return values;
     }
 
     // 2) Reservation
-    MessageReservation reservation = sendResult.getReservation();
-    if (reservation == null) {
+    if (targetMonth == null) {
       throw new IllegalArgumentException("reservation 없음");
     }
 
-    String targetMonth = reservation.getTargetMonth();
     values.put("targetMonth", safe(targetMonth));
 
     // 3) Settlement (정산서가 단일 진실 소스)
-    BillingSettlement settlement = billingSettlementRepository
-        .findByUserIdAndTargetMonth(sendResult.getUserId(), targetMonth)
+    BillingSettlement settlement = settlementLookup
+        .find(userId, targetMonth)
         .orElseThrow(() -> new IllegalArgumentException("정산서 없음"));
 
     long finalAmount = settlement.getFinalAmount();
@@ -81,28 +126,15 @@ public class TemplateValueResolver {
     String detailJson = settlement.getDetailJson();
     if (detailJson != null && !detailJson.isBlank()) {
       try {
-        JsonNode root = objectMapper.readTree(detailJson);
-
-        long usageAmount = 0L;
-        long contract = 0L;
-        long bundled = 0L;
-        long premier = 0L;
-
-        if (root.isArray()) {
-          for (JsonNode item : root) {
-            usageAmount += readLong(item.get("chargedPrice"));
-            contract += readLong(item.get("contractDiscountPrice"));
-            bundled += readLong(firstNonNull(item, "bundledDiscountPrice", "BundledDiscountPrice"));
-            premier += readLong(firstNonNull(item, "premierDiscountPrice", "PremierDiscountPrice"));
-          }
-        } else if (root.isObject()) {
-          usageAmount = readLong(firstNonNull(root, "usageAmount", "totalPrice", "chargedPrice"));
-          contract = readLong(firstNonNull(root, "contractDiscountPrice", "ContractDiscountPrice"));
-          bundled = readLong(firstNonNull(root, "bundledDiscountPrice", "BundledDiscountPrice"));
-          premier = readLong(firstNonNull(root, "premierDiscountPrice", "PremierDiscountPrice"));
-        }
+        // 트리 없이 스트리밍으로 합산 (정산서 id 기준 캐시)
+        DetailAggregate aggregate = detailJsonAggregator.aggregate(settlement.getId(), detailJson);
 
-        long discountAmount = contract + bundled + premier;
+        long usageAmount = aggregate.getUsageAmount();
+        long contract = aggregate.getContractDiscount();
+        long bundled = aggregate.getBundledDiscount();
+        long premier = aggregate.getPremierDiscount();
+
+        long discountAmount = aggregate.getDiscountAmount();
 
         // 표준 키 (기본 템플릿 + 커스텀 템플릿에서 공통 사용)
         values.put("usageAmount", formatMoney(usageAmount));
@@ -118,11 +150,18 @@ public class TemplateValueResolver {
         values.put("premierDiscountPrice", formatMoney(premier));
 
         // 옵션: flattenDetailJson (커스텀에서 a.b 키 필요할 때)
-        TemplateValueResolverOptions options = resolveOptions(template);
+        // - 전체를 펼치지 않고 템플릿이 참조하는 detail.* 경로만 JSON pointer 로 조회
         if (options.isFlattenDetailJson()) {
-          Map<String, String> flattened = new HashMap<>();
-          new JsonFlattener().flatten(root, "detail", flattened);
-          values.putAll(flattened);
+          List<String> detailKeys = detailKeys(referencedKeys);
+          if (!detailKeys.isEmpty()) {
+            JsonNode root = objectMapper.readTree(detailJson);
+            for (String key : detailKeys) {
+              String value = lookupDetail(root, key);
+              if (value != null) {
+                values.put(key, value);
+              }
+            }
+          }
         }
 
       } catch (Exception e) {
@@ -141,62 +180,48 @@ public class TemplateValueResolver {
     values.putIfAbsent("discountAmount", values.getOrDefault("totalDiscount", ""));
 
     // 4) variables_json 기반 커스텀 정책 적용
-    TemplateValueResolverOptions options = resolveOptions(template);
-
-    TemplateVariablesParser parser = new TemplateVariablesParser(objectMapper);
-    var specMap = parser.parse(template.getVariablesJson());
-
-    TemplateValuesValidator validator = new TemplateValuesValidator();
-    validator.validateAndFilter(specMap, values, options);
+    applyCustomPolicy(specMap, values, options);
 
     return values;
   }
 
-  private void applyCustomPolicy(MessageTemplate template, Map<String, String> values) {
-    TemplateValueResolverOptions options = resolveOptions(template);
-
-    TemplateVariablesParser parser = new TemplateVariablesParser(objectMapper);
-    var specMap = parser.parse(template.getVariablesJson());
-
+  private void applyCustomPolicy(Map<String, VariableSpec> specMap, Map<String, String> values,
+      TemplateValueResolverOptions options) {
     TemplateValuesValidator validator = new TemplateValuesValidator();
     validator.validateAndFilter(specMap, values, options);
   }
 
   private TemplateValueResolverOptions resolveOptions(MessageTemplate template) {
-    boolean isCustom = template.getVariablesJson() != null && !template.getVariablesJson().isBlank();
-    return isCustom ? TemplateValueResolverOptions.strictOptions()
-        : TemplateValueResolverOptions.defaultOptions();
+    return TemplateValueResolverOptions.forVariablesJson(template.getVariablesJson());
   }
 
-  private JsonNode firstNonNull(JsonNode node, String... keys) {
-    if (node == null)
-      return null;
-    for (String k : keys) {
-      JsonNode v = node.get(k);
-      if (v != null && !v.isNull() && !v.isMissingNode())
-        return v;
+  // flatten 결과 형태(detail, detail.*)의 참조 키
+  private List<String> detailKeys(Set<String> referencedKeys) {
+    List<String> keys = new ArrayList<>();
+    for (String key : referencedKeys) {
+      if (key.equals(DETAIL_PREFIX) || key.startsWith(DETAIL_PREFIX + ".")) {
+        keys.add(key);
+      }
     }
-    return null;
+    return keys;
   }
 
-  private long readLong(JsonNode node) {
-    if (node == null || node.isMissingNode() || node.isNull())
-      return 0L;
-
-    if (node.isNumber())
-      return node.asLong();
-
-    if (node.isTextual()) {
-      String s = node.asText().replace(",", "").trim();
-      if (s.isBlank())
-        return 0L;
-      try {
-        return Long.parseLong(s);
-      } catch (Exception e) {
-        return 0L;
+  /**
+   * JsonFlattener 키(detail.a.0.b) 하나를 JSON pointer(/a/0/b)로 조회
+   * - flatten 과 동일하게 null 이 아닌 값 노드만 반환, 객체/배열이면 null
+   */
+  private String lookupDetail(JsonNode root, String key) {
+    StringBuilder pointer = new StringBuilder();
+    if (key.length() > DETAIL_PREFIX.length()) {
+      for (String segment : key.substring(DETAIL_PREFIX.length() + 1).split("\\.", -1)) {
+        pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
       }
     }
-    return 0L;
+    JsonNode node = root.at(JsonPointer.compile(pointer.toString()));
+    if (node.isMissingNode() || node.isNull() || !node.isValueNode()) {
+      return null;
+    }
+    return node.asText();
   }
 
   private String formatMoney(long v) {
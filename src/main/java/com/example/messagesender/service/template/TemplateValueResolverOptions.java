@@ -40,6 +40,14 @@ public class TemplateValueResolverOptions {
         .build();
   }
 
+  /**
+   * variables_json 유무로 옵션 결정 (있으면 커스텀 템플릿)
+   */
+  public static TemplateValueResolverOptions forVariablesJson(String variablesJson) {
+    boolean isCustom = variablesJson != null && !variablesJson.isBlank();
+    return isCustom ? strictOptions() : defaultOptions();
+  }
+
   /**
    * 커스텀 템플릿용 옵션
    */
@@ -0,0 +1,70 @@
+package com.example.messagesender.worker;
+
+import com.example.messagesender.dto.MessageRequestDto;
+import com.example.messagesender.service.MessageProcessMetrics;
+import com.example.messagesender.service.MessageProcessMetrics.Stage;
+import com.example.messagesender.service.MessageProcessService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+public class BatchWorkerRunnable implements Runnable {
+
+  private final MessageProcessService messageProcessService;
+
+  private static final Logger log = LoggerFactory.getLogger(BatchWorkerRunnable.class);
+
+  private final String streamKey;
+  private final String group;
+  private final Map<RecordId, MessageRequestDto> requests;
+  private final StreamAckBuffer streamAckBuffer;
+  private final MessageProcessMetrics processMetrics;
+
+  // 같은 messageSendResultId 가 batch 안에 중복으로 들어올 수 있어서 id -> recordIds
+  private final Map<Long, List<RecordId>> recordIdsByMessageId = new HashMap<>();
+
+  public BatchWorkerRunnable(MessageProcessService messageProcessService, String streamKey,
+      String group, Map<RecordId, MessageRequestDto> requests,
+      StreamAckBuffer streamAckBuffer, MessageProcessMetrics processMetrics) {
+    this.messageProcessService = messageProcessService;
+    this.streamKey = streamKey;
+    this.group = group;
+    this.requests = requests;
+    this.streamAckBuffer = streamAckBuffer;
+    this.processMetrics = processMetrics;
+
+    for (Map.Entry<RecordId, MessageRequestDto> e : requests.entrySet()) {
+      recordIdsByMessageId
+          .computeIfAbsent(e.getValue().getMessageSendResultId(), k -> new ArrayList<>())
+          .add(e.getKey());
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      messageProcessService.processBatch(new ArrayList<>(requests.values()), this::ack);
+    } catch (Exception e) { // 선점 단계 예외 시 batch 전체 ACK 하지 않고 PENDING 유지
+      log.info("메시지 batch 전송처리 예외 발생(pending):" + e.getMessage());
+    }
+  }
+
+  // XACK 는 StreamAckBuffer 에서 모아서 전송 (전송 후 ACK 단계 기록)
+  private void ack(Long messageSendResultId) {
+    List<RecordId> recordIds = recordIdsByMessageId.get(messageSendResultId);
+    if (recordIds == null) {
+      return;
+    }
+    MessageRequestDto request = requests.get(recordIds.get(0));
+    streamAckBuffer.add(streamKey, group,
+        (acked, queuedNanos) -> processMetrics.record(Stage.ACK,
+            MessageProcessMetrics.channelOf(request.getChannel()),
+            MessageProcessMetrics.purposeOf(request.getPurpose()),
+            acked ? MessageProcessMetrics.SUCCESS : MessageProcessMetrics.FAILURE, queuedNanos),
+        recordIds.toArray(new RecordId[0]));
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.messagesender.worker;
+
+import java.util.List;
+
+/**
+ * 같은 시점에 만료된 작업끼리 묶어서 실행할 수 있는 지연 작업 (EMAIL 만료 묶음 -> sendBatch 1회)
+ * - 만료 묶음을 dispatch 하는 실행기(HashedWheelDelayedTaskExecutor)는 같은 handler 의 작업을 runBatch 로 한 번에 실행
+ * - 작업을 하나씩 실행하는 실행기는 run() 만 호출
+ */
+public interface BatchableTask extends Runnable {
+
+  // 묶음 실행기 (같은 인스턴스를 돌려주는 작업끼리 묶음)
+  BatchHandler batchHandler();
+
+  @FunctionalInterface
+  interface BatchHandler {
+
+    // 같은 handler 의 만료 작업 묶음 (1건 이상, 등록 순서 보장 안 됨)
+    void runBatch(List<BatchableTask> tasks);
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.messagesender.worker;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 1건당 virtual thread 1개로 실행하는 worker executor
+ * - 동시 실행 수는 스레드 수가 아니라 semaphore(permits, 기본값 Hikari pool 크기)로 제한
+ * - permit 이 없으면 제출한 스레드(stream poll 스레드)가 대기 -> 기존 caller-runs 와 같은 백프레셔
+ */
+public class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+  private final ExecutorService delegate;
+  private final Semaphore permits;
+  private final int maxConcurrency;
+
+  public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrency) {
+    this.delegate =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    this.permits = new Semaphore(maxConcurrency);
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("interrupted while waiting for worker permit", e);
+    }
+
+    try {
+      delegate.execute(() -> {
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * 현재 실행 중인 작업 수
+   */
+  public int activeCount() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  /**
+   * permit 을 기다리는 제출 스레드 수
+   */
+  public int waitingCount() {
+    return permits.getQueueLength();
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.messagesender.worker;
+
+import java.util.concurrent.TimeUnit;
+
+// 고정 지연 후 작업 실행 (EMAIL 1초 후 확정 등) - worker.mode 에 따라 구현체가 달라진다.
+public interface DelayedTaskExecutor {
+
+  void schedule(Runnable task, long delay, TimeUnit unit);
+
+  // 아직 실행되지 않은 지연 작업 수 (모니터링용)
+  int pendingCount();
+
+  void shutdown();
+}
@@ -0,0 +1,240 @@
+package com.example.messagesender.worker;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * platform 모드 기본: hashed timing wheel 기반 고정 지연 실행기 (EMAIL 1초 후 확정)
+ * - 등록은 lock-free 큐에 넣기만 함 (O(1)), tick 스레드가 tick 마다 bucket 으로 옮기고 만료된 bucket 을 통째로 꺼냄
+ * - 만료된 작업은 dispatch-size 단위 묶음으로 dispatch 스레드에서 실행 (상태 확정은 MessageStatusWriter 가 일괄 UPDATE)
+ *   - 묶음 안의 BatchableTask 는 handler 별로 runBatch 1회 (EMAIL 은 sendBatch 1회로 발송)
+ * - 정확도는 tick 단위 (지연 + 최대 1 tick)
+ * - shutdown 시 새 작업은 거절하고, 이미 등록된 작업은 drain-timeout 안에서 만료되는 대로 실행 후 실행 완료까지 대기
+ */
+@Slf4j
+public class HashedWheelDelayedTaskExecutor implements DelayedTaskExecutor {
+
+  private final long tickNanos;
+  private final int mask;
+  private final int dispatchSize;
+  private final long drainTimeoutMillis;
+
+  // bucket 별 단방향 연결 리스트 head (tick 스레드만 접근)
+  private final Entry[] buckets;
+  private final ConcurrentLinkedQueue<Entry> incoming = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final ExecutorService dispatcher;
+  private final Thread ticker;
+  private final long startNanos;
+  private volatile boolean shutdown;
+
+  /**
+   * @param tickMillis    tick 간격
+   * @param wheelSize     bucket 수 (2의 거듭제곱으로 올림)
+   * @param dispatchThreads 만료 작업 실행 스레드 수
+   * @param dispatchSize  dispatch 1회당 최대 작업 수
+   */
+  public HashedWheelDelayedTaskExecutor(String namePrefix, long tickMillis, int wheelSize,
+      int dispatchThreads, int dispatchSize, long drainTimeoutMillis) {
+    if (tickMillis <= 0 || wheelSize <= 0 || dispatchThreads <= 0 || dispatchSize <= 0) {
+      throw new IllegalArgumentException("tick/wheel/dispatch 설정은 0보다 커야 함");
+    }
+    int size = Integer.highestOneBit(wheelSize - 1) << 1;
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    this.mask = Math.max(size, 1) - 1;
+    this.buckets = new Entry[mask + 1];
+    this.dispatchSize = dispatchSize;
+    this.drainTimeoutMillis = drainTimeoutMillis;
+
+    AtomicInteger seq = new AtomicInteger();
+    this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+      Thread t = new Thread(r);
+      t.setName(namePrefix + "dispatch-" + seq.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+
+    this.startNanos = System.nanoTime();
+    this.ticker = new Thread(this::run, namePrefix + "tick");
+    this.ticker.setDaemon(true);
+    this.ticker.start();
+  }
+
+  @Override
+  public void schedule(Runnable task, long delay, TimeUnit unit) {
+    if (shutdown) {
+      throw new RejectedExecutionException("delayed executor is shut down");
+    }
+    long deadline = System.nanoTime() - startNanos + unit.toNanos(delay);
+    // 올림: 지연보다 일찍 실행되지 않도록
+    Entry entry = new Entry(task, (deadline + tickNanos - 1) / tickNanos);
+    // pending 을 먼저 올려서 drain 중인 tick 스레드가 이 작업을 옮기기 전에 종료하지 않게 함
+    pending.incrementAndGet();
+    incoming.add(entry);
+    // 위 shutdown 확인 ~ 등록 사이에 종료가 시작된 경우: tick 스레드가 아직 안 옮겼으면 거절
+    // (이미 옮겼으면 pending > 0 이라 drain 에서 실행됨)
+    if (shutdown && incoming.remove(entry)) {
+      pending.decrementAndGet();
+      throw new RejectedExecutionException("delayed executor is shut down");
+    }
+  }
+
+  @Override
+  public int pendingCount() {
+    return pending.get();
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    try {
+      ticker.join(drainTimeoutMillis + TimeUnit.NANOSECONDS.toMillis(tickNanos));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    ticker.interrupt();
+    dispatcher.shutdown();
+    // drain 에서 꺼낸 작업이 끝날 때까지 대기 (이후 종료되는 MessageStatusWriter 에 확정이 등록되도록)
+    try {
+      if (!dispatcher.awaitTermination(drainTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        log.warn("[WARN] email delay dispatch not finished within drain timeout");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    long tick = 0;
+    long drainDeadline = Long.MAX_VALUE;
+    while (!Thread.currentThread().isInterrupted()) {
+      if (shutdown) {
+        if (drainDeadline == Long.MAX_VALUE) {
+          drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+        }
+        if (pending.get() == 0 || System.nanoTime() >= drainDeadline) {
+          break;
+        }
+      }
+
+      waitForTick(tick);
+      transferIncoming(tick);
+      List<Runnable> expired = expire(tick);
+      if (!expired.isEmpty()) {
+        pending.addAndGet(-expired.size());
+        dispatch(expired);
+      }
+      tick++;
+    }
+    if (pending.get() > 0) {
+      log.warn("[WARN] email delay wheel stopped with pending tasks. count={}", pending.get());
+    }
+  }
+
+  private void waitForTick(long tick) {
+    long deadline = startNanos + tick * tickNanos;
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(this, remaining);
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+    }
+  }
+
+  // 새로 등록된 작업을 만료 tick 의 bucket 으로 (이미 지난 tick 이면 현재 bucket)
+  private void transferIncoming(long tick) {
+    Entry entry;
+    while ((entry = incoming.poll()) != null) {
+      long target = Math.max(entry.deadlineTick, tick);
+      int index = (int) (target & mask);
+      entry.next = buckets[index];
+      buckets[index] = entry;
+    }
+  }
+
+  // 현재 bucket 에서 만료된 작업만 분리 (wheel 한 바퀴 이상 남은 작업은 유지)
+  private List<Runnable> expire(long tick) {
+    int index = (int) (tick & mask);
+    Entry entry = buckets[index];
+    if (entry == null) {
+      return List.of();
+    }
+
+    List<Runnable> expired = new ArrayList<>();
+    Entry kept = null;
+    while (entry != null) {
+      Entry next = entry.next;
+      if (entry.deadlineTick <= tick) {
+        expired.add(entry.task);
+      } else {
+        entry.next = kept;
+        kept = entry;
+      }
+      entry = next;
+    }
+    buckets[index] = kept;
+    return expired;
+  }
+
+  private void dispatch(List<Runnable> expired) {
+    for (int from = 0; from < expired.size(); from += dispatchSize) {
+      List<Runnable> chunk = expired.subList(from, Math.min(expired.size(), from + dispatchSize));
+      try {
+        dispatcher.execute(() -> runAll(chunk));
+      } catch (RejectedExecutionException e) { // dispatcher 종료 후에는 tick 스레드에서 직접 실행
+        runAll(chunk);
+      }
+    }
+  }
+
+  private static void runAll(List<Runnable> tasks) {
+    Map<BatchableTask.BatchHandler, List<BatchableTask>> batches = null;
+    for (Runnable task : tasks) {
+      if (task instanceof BatchableTask batchable) {
+        if (batches == null) {
+          batches = new IdentityHashMap<>();
+        }
+        batches.computeIfAbsent(batchable.batchHandler(), k -> new ArrayList<>()).add(batchable);
+        continue;
+      }
+      try {
+        task.run();
+      } catch (Exception e) {
+        log.error("[FAIL] delayed task failed", e);
+      }
+    }
+    if (batches == null) {
+      return;
+    }
+    batches.forEach((handler, batch) -> {
+      try {
+        handler.runBatch(batch);
+      } catch (Exception e) {
+        log.error("[FAIL] delayed batch failed. size={}", batch.size(), e);
+      }
+    });
+  }
+
+  private static final class Entry {
+    private final Runnable task;
+    private final long deadlineTick;
+    private Entry next;
+
+    private Entry(Runnable task, long deadlineTick) {
+      this.task = task;
+      this.deadlineTick = deadlineTick;
+    }
+  }
+}
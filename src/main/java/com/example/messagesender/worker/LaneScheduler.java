@@ -0,0 +1,146 @@
+package com.example.messagesender.worker;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * lane 별 동시 실행 한도 + 가중치 공정 스케줄링으로 workerExecutorService 에 작업 제출
+ * - 전체 실행 수는 max-running(worker 스레드 수 / virtual 동시 처리 상한) 이하로만 제출 -> worker 큐가 차지 않음
+ * - 실행 가능한 lane(대기 작업 있음, lane 한도 미만) 중 smooth weighted round-robin 으로 선택
+ * - 다른 lane 이 비어 있으면 한도 안에서 남는 슬롯을 그대로 사용 (work-conserving)
+ * - 작업이 끝난 worker 스레드가 다음 작업을 바로 이어서 실행 (재제출 없음, virtual executor permit 대기 없음)
+ */
+@Slf4j
+public class LaneScheduler {
+
+  private final ExecutorService delegate;
+  private final int maxRunning;
+  private final Map<MessageLane, LaneState> lanes = new EnumMap<>(MessageLane.class);
+
+  // 아래 상태는 모두 this 로 보호
+  private int running;
+
+  /**
+   * @param maxRunning 전체 동시 실행 한도
+   * @param budgets    lane 별 (가중치, 동시 실행 한도)
+   */
+  public LaneScheduler(ExecutorService delegate, int maxRunning,
+      Map<MessageLane, Budget> budgets) {
+    if (maxRunning <= 0) {
+      throw new IllegalArgumentException("max-running 은 0보다 커야 함");
+    }
+    this.delegate = delegate;
+    this.maxRunning = maxRunning;
+    for (MessageLane lane : MessageLane.values()) {
+      Budget budget = budgets.getOrDefault(lane, new Budget(1, maxRunning));
+      lanes.put(lane, new LaneState(lane, Math.max(1, budget.weight()),
+          Math.max(1, Math.min(maxRunning, budget.maxConcurrency()))));
+    }
+  }
+
+  public void submit(MessageLane lane, Runnable task) {
+    List<Next> ready = new ArrayList<>();
+    synchronized (this) {
+      lanes.get(lane).queue.add(task);
+      Next next;
+      while ((next = pickNext()) != null) {
+        ready.add(next);
+      }
+    }
+    for (Next next : ready) {
+      try {
+        delegate.execute(() -> runLoop(next));
+      } catch (RejectedExecutionException e) { // 종료 중: record 는 ACK 되지 않고 PENDING 유지
+        synchronized (this) {
+          next.lane().running--;
+          running--;
+        }
+        log.warn("[WARN] worker rejected, task dropped. lane={}", next.lane().lane);
+      }
+    }
+  }
+
+  // 작업이 끝나면 같은 스레드에서 다음 작업 선택 (없으면 슬롯 반환)
+  private void runLoop(Next next) {
+    while (next != null) {
+      try {
+        next.task().run();
+      } catch (RuntimeException e) {
+        log.error("[FAIL] worker task failed. lane={}", next.lane().lane, e);
+      }
+      synchronized (this) {
+        next.lane().running--;
+        running--;
+        next = pickNext();
+      }
+    }
+  }
+
+  // smooth weighted round-robin (실행 가능한 lane 끼리만 가중치 비교)
+  private Next pickNext() {
+    if (running >= maxRunning) {
+      return null;
+    }
+    LaneState picked = null;
+    int totalWeight = 0;
+    for (LaneState state : lanes.values()) {
+      if (state.queue.isEmpty() || state.running >= state.maxConcurrency) {
+        continue;
+      }
+      state.current += state.weight;
+      totalWeight += state.weight;
+      if (picked == null || state.current > picked.current) {
+        picked = state;
+      }
+    }
+    if (picked == null) {
+      return null;
+    }
+    picked.current -= totalWeight;
+    picked.running++;
+    running++;
+    return new Next(picked, picked.queue.poll());
+  }
+
+  public synchronized int queuedCount(MessageLane lane) {
+    return lanes.get(lane).queue.size();
+  }
+
+  public synchronized int runningCount(MessageLane lane) {
+    return lanes.get(lane).running;
+  }
+
+  public int maxRunning() {
+    return maxRunning;
+  }
+
+  /**
+   * lane 가중치 / 동시 실행 한도
+   */
+  public record Budget(int weight, int maxConcurrency) {
+  }
+
+  private record Next(LaneState lane, Runnable task) {
+  }
+
+  private static final class LaneState {
+    private final MessageLane lane;
+    private final int weight;
+    private final int maxConcurrency;
+    private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+    private int running;
+    private int current;
+
+    private LaneState(MessageLane lane, int weight, int maxConcurrency) {
+      this.lane = lane;
+      this.weight = weight;
+      this.maxConcurrency = maxConcurrency;
+    }
+  }
+}
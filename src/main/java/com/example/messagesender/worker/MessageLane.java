@@ -0,0 +1,44 @@
+package com.example.messagesender.worker;
+
+import com.example.messagesender.common.code.enums.MessagePurpose;
+import com.example.messagesender.common.code.enums.MessageSendStatus;
+import java.util.Locale;
+
+/**
+ * worker 실행 우선순위 lane
+ * - BILLING: 청구 안내 최초 발송 (SLA 대상)
+ * - RETRY: FAILED EMAIL 재시도 / EXCEEDED SMS 대체 발송 / PEL 재처리
+ * - NOTICE: 공지 등 나머지
+ */
+public enum MessageLane {
+  BILLING,
+  RETRY,
+  NOTICE;
+
+  /**
+   * stream record 필드 기준 분류
+   *
+   * @param purpose     record 의 purpose
+   * @param status      record 의 status (producer 가 재시도 발행 시 넣는 값, 없으면 null)
+   * @param redelivered PEL 재처리로 다시 들어온 record 여부
+   */
+  public static MessageLane classify(MessagePurpose purpose, MessageSendStatus status,
+      boolean redelivered) {
+    if (redelivered || status == MessageSendStatus.FAILED
+        || status == MessageSendStatus.EXCEEDED) {
+      return RETRY;
+    }
+    return purpose == MessagePurpose.BILLING ? BILLING : NOTICE;
+  }
+
+  /**
+   * lane 이름 (stream key suffix / 설정 / 메트릭 태그)
+   */
+  public String key() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public static MessageLane fromKey(String key) {
+    return valueOf(key.trim().toUpperCase(Locale.ROOT));
+  }
+}
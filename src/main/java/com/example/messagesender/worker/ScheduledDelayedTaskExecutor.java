@@ -0,0 +1,33 @@
+package com.example.messagesender.worker;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// platform 모드: ScheduledThreadPoolExecutor 위임
+public class ScheduledDelayedTaskExecutor implements DelayedTaskExecutor {
+
+  private final ScheduledExecutorService scheduler;
+
+  public ScheduledDelayedTaskExecutor(ScheduledExecutorService scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public void schedule(Runnable task, long delay, TimeUnit unit) {
+    scheduler.schedule(task, delay, unit);
+  }
+
+  @Override
+  public int pendingCount() {
+    if (scheduler instanceof ScheduledThreadPoolExecutor executor) {
+      return executor.getQueue().size();
+    }
+    return 0;
+  }
+
+  @Override
+  public void shutdown() {
+    scheduler.shutdown();
+  }
+}
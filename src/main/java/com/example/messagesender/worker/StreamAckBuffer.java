@@ -0,0 +1,228 @@
+package com.example.messagesender.worker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 처리 완료된 stream record ACK 모아보내기
+ * - stream/group 별로 RecordId 를 모았다가 flush-interval-ms 주기 또는 flush-size 건마다 multi-id XACK 로 전송
+ * - 여러 stream/group 이 쌓여 있으면 한 번의 pipeline 으로 전송
+ * - XACK 실패 시 재시도하지 않음 (record 는 PEL 에 남고, 상태는 이미 확정되어 재처리 시 선점되지 않음)
+ * - add 에 AckListener 를 넘기면 XACK 전송 이후(실패 포함) 호출 (ACK 단계 지연 기록용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamAckBuffer {
+
+  private final StringRedisTemplate redisTemplate;
+  private final ScheduledExecutorService flushScheduler;
+
+  @Value("${redis.stream.ack.flush-interval-ms:20}")
+  private long flushIntervalMs;
+
+  @Value("${redis.stream.ack.flush-size:100}")
+  private int flushSize;
+
+  private final Map<StreamGroup, ConcurrentLinkedQueue<PendingAck>> pendingByGroup =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  // 모니터링용 카운터
+  private final AtomicLong ackedCount = new AtomicLong();
+  private final AtomicLong flushCount = new AtomicLong();
+  private final AtomicLong flushFailureCount = new AtomicLong();
+  private final AtomicLong lastFlushLatencyNanos = new AtomicLong();
+  private final AtomicLong maxFlushLatencyNanos = new AtomicLong();
+  private final AtomicLong totalFlushLatencyNanos = new AtomicLong();
+
+  @PostConstruct
+  void init() {
+    flushScheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  // 종료 시 남은 ACK 전송 (못 보낸 건은 PEL 에 남음)
+  @PreDestroy
+  void close() {
+    flushSafely();
+  }
+
+  public void add(String streamKey, String group, RecordId... recordIds) {
+    add(streamKey, group, null, recordIds);
+  }
+
+  /**
+   * @param listener XACK 전송 후 1회 호출 (recordIds 가 여러 건이어도 1회), null 가능
+   */
+  public void add(String streamKey, String group, AckListener listener, RecordId... recordIds) {
+    ConcurrentLinkedQueue<PendingAck> queue =
+        pendingByGroup.computeIfAbsent(new StreamGroup(streamKey, group),
+            k -> new ConcurrentLinkedQueue<>());
+    long queuedNanos = System.nanoTime();
+    for (int i = 0; i < recordIds.length; i++) {
+      queue.add(new PendingAck(recordIds[i], queuedNanos, i == 0 ? listener : null));
+    }
+    if (pending.addAndGet(recordIds.length) >= flushSize
+        && flushRequested.compareAndSet(false, true)) {
+      flushScheduler.execute(this::flushSafely);
+    }
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (Exception e) { // 예외로 주기 작업이 중단되지 않도록
+      log.error("[FAIL] stream ack flush failed", e);
+    }
+  }
+
+  void flush() {
+    if (!flushLock.tryLock()) {
+      return;
+    }
+    try {
+      flushRequested.set(false);
+      while (pending.get() > 0) {
+        Map<StreamGroup, List<PendingAck>> batch = drain();
+        if (batch.isEmpty()) {
+          return;
+        }
+        send(batch);
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  // stream/group 별로 최대 flush-size 건씩 꺼냄
+  private Map<StreamGroup, List<PendingAck>> drain() {
+    Map<StreamGroup, List<PendingAck>> batch = new HashMap<>();
+    for (Map.Entry<StreamGroup, ConcurrentLinkedQueue<PendingAck>> e :
+        pendingByGroup.entrySet()) {
+      List<PendingAck> acks = new ArrayList<>();
+      PendingAck ack;
+      while (acks.size() < flushSize && (ack = e.getValue().poll()) != null) {
+        acks.add(ack);
+      }
+      if (!acks.isEmpty()) {
+        pending.addAndGet(-acks.size());
+        batch.put(e.getKey(), acks);
+      }
+    }
+    return batch;
+  }
+
+  private void send(Map<StreamGroup, List<PendingAck>> batch) {
+    int size = batch.values().stream().mapToInt(List::size).sum();
+    long start = System.nanoTime();
+    boolean acked = false;
+    try {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        StringRedisConnection conn = (StringRedisConnection) connection;
+        for (Map.Entry<StreamGroup, List<PendingAck>> e : batch.entrySet()) {
+          String[] entryIds = e.getValue().stream().map(ack -> ack.recordId().getValue())
+              .toArray(String[]::new);
+          conn.xAck(e.getKey().streamKey(), e.getKey().group(), entryIds);
+        }
+        return null;
+      });
+      ackedCount.addAndGet(size);
+      acked = true;
+    } catch (Exception e) {
+      flushFailureCount.incrementAndGet();
+      log.warn("[WARN] stream ack failed(pending 유지). size={}", size, e);
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      flushCount.incrementAndGet();
+      lastFlushLatencyNanos.set(elapsed);
+      totalFlushLatencyNanos.addAndGet(elapsed);
+      maxFlushLatencyNanos.accumulateAndGet(elapsed, Math::max);
+    }
+    notifyListeners(batch, acked);
+  }
+
+  private static void notifyListeners(Map<StreamGroup, List<PendingAck>> batch, boolean acked) {
+    for (List<PendingAck> acks : batch.values()) {
+      for (PendingAck ack : acks) {
+        if (ack.listener() == null) {
+          continue;
+        }
+        try {
+          ack.listener().onFlushed(acked, ack.queuedNanos());
+        } catch (Exception e) {
+          log.warn("[WARN] stream ack listener failed. id={}", ack.recordId(), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * 아직 전송되지 않은 ACK 건수
+   */
+  public int pendingCount() {
+    return pending.get();
+  }
+
+  public long ackedCount() {
+    return ackedCount.get();
+  }
+
+  public long flushCount() {
+    return flushCount.get();
+  }
+
+  public long flushFailureCount() {
+    return flushFailureCount.get();
+  }
+
+  public long lastFlushLatencyNanos() {
+    return lastFlushLatencyNanos.get();
+  }
+
+  public long maxFlushLatencyNanos() {
+    return maxFlushLatencyNanos.get();
+  }
+
+  public long totalFlushLatencyNanos() {
+    return totalFlushLatencyNanos.get();
+  }
+
+  /**
+   * XACK 전송 결과 콜백
+   */
+  @FunctionalInterface
+  public interface AckListener {
+
+    // acked: XACK 전송 성공 여부, queuedNanos: add 시각 (System.nanoTime)
+    void onFlushed(boolean acked, long queuedNanos);
+  }
+
+  private record StreamGroup(String streamKey, String group) {
+  }
+
+  private record PendingAck(RecordId recordId, long queuedNanos, AckListener listener) {
+  }
+}
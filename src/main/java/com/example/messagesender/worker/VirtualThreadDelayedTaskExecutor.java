@@ -0,0 +1,113 @@
+package com.example.messagesender.worker;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * virtual 모드: 작업마다 virtual thread 를 띄워 지연 시간만큼 park 후 실행
+ * - 지연 중인 작업이 scheduler 스레드를 점유하지 않음
+ * - shutdown 시 새 작업은 거절하고, 이미 등록된 작업은 drain-timeout 안에서 만료되는 대로 실행 후 실행 완료까지 대기
+ *   (HashedWheelDelayedTaskExecutor 와 동일, drain-timeout 을 넘긴 작업은 daemon 이라 JVM 종료 시 유실)
+ */
+@Slf4j
+public class VirtualThreadDelayedTaskExecutor implements DelayedTaskExecutor {
+
+  private final ThreadFactory threadFactory;
+  private final long drainTimeoutMillis;
+  private final AtomicInteger pending = new AtomicInteger();
+
+  // 등록 ~ 실행 종료 작업 수 (shutdown 대기용, lock 보유 중에만 접근)
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition idle = lock.newCondition();
+  private int active;
+  private boolean shutdown;
+
+  public VirtualThreadDelayedTaskExecutor(String namePrefix, long drainTimeoutMillis) {
+    this.threadFactory = Thread.ofVirtual().name(namePrefix, 0).factory();
+    this.drainTimeoutMillis = drainTimeoutMillis;
+  }
+
+  @Override
+  public void schedule(Runnable task, long delay, TimeUnit unit) {
+    lock.lock();
+    try {
+      if (shutdown) {
+        throw new RejectedExecutionException("delayed executor is shut down");
+      }
+      active++;
+    } finally {
+      lock.unlock();
+    }
+    pending.incrementAndGet();
+    try {
+      threadFactory.newThread(() -> run(task, delay, unit)).start();
+    } catch (RuntimeException e) {
+      pending.decrementAndGet();
+      completed();
+      throw e;
+    }
+  }
+
+  private void run(Runnable task, long delay, TimeUnit unit) {
+    boolean waiting = true;
+    try {
+      unit.sleep(delay);
+      pending.decrementAndGet();
+      waiting = false;
+      task.run();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.error("[FAIL] delayed task failed", e);
+    } finally {
+      if (waiting) {
+        pending.decrementAndGet();
+      }
+      completed();
+    }
+  }
+
+  private void completed() {
+    lock.lock();
+    try {
+      if (--active == 0) {
+        idle.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int pendingCount() {
+    return pending.get();
+  }
+
+  /**
+   * 새 작업 거절 + 등록된 작업이 만료/실행 완료될 때까지 drain-timeout 만큼 대기
+   * (이후 종료되는 MessageStatusWriter 에 확정이 등록되도록)
+   */
+  @Override
+  public void shutdown() {
+    lock.lock();
+    try {
+      shutdown = true;
+      long remaining = TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+      while (active > 0 && remaining > 0) {
+        remaining = idle.awaitNanos(remaining);
+      }
+      if (active > 0) {
+        log.warn("[WARN] email delay tasks not finished within drain timeout. count={}", active);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
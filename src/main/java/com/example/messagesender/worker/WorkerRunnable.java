@@ -1,11 +1,12 @@
 package com.example.messagesender.worker;
 
 import com.example.messagesender.dto.MessageRequestDto;
+import com.example.messagesender.service.MessageProcessMetrics;
+import com.example.messagesender.service.MessageProcessMetrics.Stage;
 import com.example.messagesender.service.MessageProcessService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.stream.RecordId;
-import org.springframework.data.redis.core.StringRedisTemplate;
 
 public class WorkerRunnable implements Runnable {
 
@@ -17,30 +18,39 @@ public class WorkerRunnable implements Runnable {
   private final String group;
   private final RecordId messageId;
   private final MessageRequestDto request;
-  private final StringRedisTemplate redisTemplate;
+  private final StreamAckBuffer streamAckBuffer;
+  private final MessageProcessMetrics processMetrics;
 
   public WorkerRunnable(MessageProcessService messageProcessService, String streamKey, String group,
-      RecordId messageId, MessageRequestDto request, StringRedisTemplate redisTemplate) {
+      RecordId messageId, MessageRequestDto request, StreamAckBuffer streamAckBuffer,
+      MessageProcessMetrics processMetrics) {
     this.messageProcessService = messageProcessService;
     this.streamKey = streamKey;
     this.group = group;
     this.messageId = messageId;
     this.request = request;
-    this.redisTemplate = redisTemplate;
+    this.streamAckBuffer = streamAckBuffer;
+    this.processMetrics = processMetrics;
   }
 
   @Override
   public void run() {
     try {
-      messageProcessService.process(request);
-      ack();
+      // ACK 는 상태 확정 커밋 이후 (선점 대상이 아니면 즉시)
+      messageProcessService.process(request, this::ack);
     } catch (Exception e) { // 예외 발생 시 ACK 처리 하지 않고 PENDING 유지
       log.info("메시지 전송처리 예외 발생(pending):" + e.getMessage());
     }
   }
 
-  private Long ack() {
-    Long acked = redisTemplate.opsForStream().acknowledge(streamKey, group, messageId);
-    return acked;
+  // XACK 는 StreamAckBuffer 에서 모아서 전송 (전송 후 ACK 단계 기록)
+  private void ack() {
+    streamAckBuffer.add(streamKey, group, this::recordAck, messageId);
+  }
+
+  private void recordAck(boolean acked, long queuedNanos) {
+    processMetrics.record(Stage.ACK, MessageProcessMetrics.channelOf(request.getChannel()),
+        MessageProcessMetrics.purposeOf(request.getPurpose()),
+        acked ? MessageProcessMetrics.SUCCESS : MessageProcessMetrics.FAILURE, queuedNanos);
   }
 }
@@ -0,0 +1,32 @@
+package com.example.messagesender.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StreamCreditsTest {
+
+  @Test
+  void tryAcquireTakesOnlyWhatIsLeft() {
+    StreamCredits credits = new StreamCredits(3);
+
+    assertThat(credits.tryAcquire(5, 10)).isEqualTo(3);
+    assertThat(credits.available()).isZero();
+  }
+
+  @Test
+  void tryAcquireGivesUpAfterTimeoutWhenExhausted() {
+    StreamCredits credits = new StreamCredits(1);
+    credits.acquire();
+
+    long started = System.nanoTime();
+    // credit 이 없어도 timeout 뒤에 0 으로 반환 (reclaimer 스레드가 막히지 않음)
+    assertThat(credits.tryAcquire(2, 30)).isZero();
+    assertThat(System.nanoTime() - started)
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+
+    credits.release(1);
+    assertThat(credits.tryAcquire(2, 30)).isEqualTo(1);
+  }
+}
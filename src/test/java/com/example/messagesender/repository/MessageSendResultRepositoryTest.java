@@ -0,0 +1,100 @@
+package com.example.messagesender.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+// 선점 token(claimedAt) 조건 검증: lease 만료 후 재선점된 행에 이전 선점자의 늦은 확정이 반영되지 않아야 함
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:claim;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.sql.init.mode=always",
+    "spring.sql.init.schema-locations=classpath:claim/schema.sql"
+})
+class MessageSendResultRepositoryTest {
+
+  private static final long PROCESSING = 3L;
+  private static final long SUCCESS = 4L;
+  private static final long FAILED = 5L;
+  private static final long EXCEEDED = 6L;
+  private static final long LEASE_MS = 120_000L;
+
+  @Autowired
+  private MessageSendResultRepository repository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private LocalDateTime firstClaim;
+  private LocalDateTime reclaim;
+  private Long id;
+
+  @BeforeEach
+  void setUp() {
+    // 첫 선점 이후 lease 가 지나서 다른 consumer 가 재선점한 상황
+    reclaim = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    firstClaim = reclaim.minus(LEASE_MS + 1, ChronoUnit.MILLIS);
+    jdbcTemplate.update("DELETE FROM message_send_results");
+    jdbcTemplate.update("""
+        INSERT INTO message_send_results (reserved_send_id, user_id, channel_id, template_id,
+            status_id, requested_at, processed_at, claimed_at, retry_count)
+        VALUES (1, 1, 1, 1, ?, ?, NULL, ?, 0)
+        """, PROCESSING, firstClaim, firstClaim);
+    id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM message_send_results", Long.class);
+
+    int reclaimed = repository.markReclaimProcessing(id, PROCESSING,
+        reclaim.minus(LEASE_MS, ChronoUnit.MILLIS), reclaim);
+    assertThat(reclaimed).isEqualTo(1);
+  }
+
+  @Test
+  void staleFinalizeAfterReclaimUpdatesNothing() {
+    assertThat(repository.markSuccess(id, PROCESSING, SUCCESS, firstClaim)).isZero();
+    assertThat(repository.markSuccessAll(List.of(id), PROCESSING, SUCCESS, firstClaim)).isZero();
+    assertThat(repository.markFailedOrExceededAll(List.of(id), PROCESSING, FAILED, EXCEEDED, 2,
+        firstClaim)).isZero();
+
+    // 재선점한 쪽은 "처리 중" 상태(processedAt null)를 그대로 보고 있음
+    assertThat(statusId()).isEqualTo(PROCESSING);
+    assertThat(processedAt()).isNull();
+  }
+
+  @Test
+  void currentClaimFinalizesOnce() {
+    assertThat(repository.markSuccessAll(List.of(id), PROCESSING, SUCCESS, reclaim)).isEqualTo(1);
+    assertThat(statusId()).isEqualTo(SUCCESS);
+    assertThat(processedAt()).isNotNull();
+
+    // 같은 결과가 다시 와도 (큐 재전달 등) 확정된 행은 바뀌지 않음
+    assertThat(repository.markSuccess(id, PROCESSING, SUCCESS, reclaim)).isZero();
+  }
+
+  @Test
+  void reclaimWithinLeaseIsRejected() {
+    LocalDateTime now = reclaim.plus(1, ChronoUnit.MILLIS);
+    assertThat(repository.markReclaimProcessing(id, PROCESSING,
+        now.minus(LEASE_MS, ChronoUnit.MILLIS), now)).isZero();
+  }
+
+  private Long statusId() {
+    return jdbcTemplate.queryForObject(
+        "SELECT status_id FROM message_send_results WHERE id = ?", Long.class, id);
+  }
+
+  private LocalDateTime processedAt() {
+    return jdbcTemplate.queryForObject(
+        "SELECT processed_at FROM message_send_results WHERE id = ?", LocalDateTime.class, id);
+  }
+}
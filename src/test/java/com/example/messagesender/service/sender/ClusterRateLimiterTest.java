@@ -0,0 +1,161 @@
+package com.example.messagesender.service.sender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.messagesender.common.code.enums.MessageChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// Redis 대신 lease 스크립트와 같은 계산을 하는 stub 으로 lease 할당/소진/장애 동작 검증
+class ClusterRateLimiterTest {
+
+  @Test
+  void leasesPermitsInChunks() {
+    alignToWindowStart();
+    LeaseStubRedisTemplate redis = new LeaseStubRedisTemplate();
+    ClusterRateLimiter limiter = new ClusterRateLimiter(redis, "test", 10);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire(MessageChannel.SMS, 100);
+    }
+    assertThat(redis.calls).hasSize(1);
+    assertThat(redis.calls.get(0)).containsExactly("10", "100", "2000");
+
+    limiter.acquire(MessageChannel.SMS, 100);
+    assertThat(redis.calls).hasSize(2);
+  }
+
+  @Test
+  void keepsLeasesPerChannel() {
+    alignToWindowStart();
+    LeaseStubRedisTemplate redis = new LeaseStubRedisTemplate();
+    ClusterRateLimiter limiter = new ClusterRateLimiter(redis, "test", 10);
+
+    limiter.acquire(MessageChannel.SMS, 100);
+    limiter.acquire(MessageChannel.EMAIL, 100);
+
+    assertThat(redis.keys).hasSize(2);
+    assertThat(redis.keys.get(0)).startsWith("test:sms:");
+    assertThat(redis.keys.get(1)).startsWith("test:email:");
+  }
+
+  @Test
+  void waitsForNextWindowWhenClusterLimitIsUsedUp() {
+    alignToWindowStart();
+    LeaseStubRedisTemplate redis = new LeaseStubRedisTemplate();
+    ClusterRateLimiter limiter = new ClusterRateLimiter(redis, "test", 10);
+    long window = System.currentTimeMillis() / 1000;
+
+    for (int i = 0; i < 3; i++) {
+      limiter.acquire(MessageChannel.SMS, 3);
+    }
+    assertThat(System.currentTimeMillis() / 1000).isEqualTo(window);
+
+    // 이번 window 한도 3건 소진 -> 다음 window 에서 허용
+    limiter.acquire(MessageChannel.SMS, 3);
+    assertThat(System.currentTimeMillis() / 1000).isGreaterThan(window);
+  }
+
+  @Test
+  void refillsOncePerLeaseUnderConcurrency() throws Exception {
+    alignToWindowStart();
+    LeaseStubRedisTemplate redis = new LeaseStubRedisTemplate();
+    ClusterRateLimiter limiter = new ClusterRateLimiter(redis, "test", 10);
+    int threads = 8;
+    int perThread = 25;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < perThread; i++) {
+            limiter.acquire(MessageChannel.SMS, 10_000);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // 200건 / lease 10개 = Redis 호출 20회 (lease 를 버리거나 동시에 중복 요청하지 않음)
+    assertThat(redis.calls).hasSize(threads * perThread / 10);
+  }
+
+  @Test
+  void proceedsWithoutLimitWhenRedisFails() {
+    alignToWindowStart();
+    LeaseStubRedisTemplate redis = new LeaseStubRedisTemplate();
+    redis.failing = true;
+    ClusterRateLimiter limiter = new ClusterRateLimiter(redis, "test", 10);
+
+    long started = System.nanoTime();
+    for (int i = 0; i < 100; i++) {
+      limiter.acquire(MessageChannel.SMS, 1);
+    }
+
+    // 장애 window 동안은 Redis 를 다시 호출하지 않고 통과
+    assertThat(System.nanoTime() - started).isLessThan(500_000_000L);
+    assertThat(redis.calls).hasSize(1);
+  }
+
+  // 테스트 도중 1초 window 가 바뀌지 않도록 다음 window 시작 직후로 맞춤
+  private static void alignToWindowStart() {
+    long now = System.currentTimeMillis();
+    long untilNext = 1000 - now % 1000;
+    try {
+      Thread.sleep(untilNext + 10);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * lease 스크립트 stub (INCRBY 후 한도 안에서 할당한 개수 반환)
+   */
+  private static final class LeaseStubRedisTemplate extends StringRedisTemplate {
+
+    private final Map<String, Long> counters = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final List<List<String>> calls = new ArrayList<>();
+    private boolean failing;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+      List<String> values = new ArrayList<>();
+      for (Object arg : args) {
+        values.add(String.valueOf(arg));
+      }
+      calls.add(values);
+      if (failing) {
+        throw new IllegalStateException("redis down");
+      }
+
+      String key = keys.get(0);
+      this.keys.add(key);
+      long requested = Long.parseLong(values.get(0));
+      long limit = Long.parseLong(values.get(1));
+      long used = counters.merge(key, requested, Long::sum);
+      long granted = requested - Math.max(0, used - limit);
+      return (T) Long.valueOf(Math.max(0, granted));
+    }
+  }
+}
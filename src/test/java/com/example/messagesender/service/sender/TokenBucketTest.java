@@ -0,0 +1,73 @@
+package com.example.messagesender.service.sender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+// reserve() 는 예약만 하고 대기하지 않으므로 남은 대기 시간으로 GCRA 동작을 검증 (호출 간 경과 시간 오차만 허용)
+class TokenBucketTest {
+
+  private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long TOLERANCE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+  @Test
+  void allowsBurstWithoutWaiting() {
+    TokenBucket bucket = new TokenBucket(10, 3);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(bucket.reserve()).isLessThanOrEqualTo(0);
+    }
+    // burst 를 넘는 첫 토큰은 1 interval 뒤
+    assertThat(bucket.reserve()).isCloseTo(INTERVAL_NANOS, within(TOLERANCE_NANOS));
+  }
+
+  @Test
+  void spacesTokensByIntervalAfterBurst() {
+    TokenBucket bucket = new TokenBucket(10, 1);
+
+    assertThat(bucket.reserve()).isLessThanOrEqualTo(0);
+    long first = bucket.reserve();
+    long second = bucket.reserve();
+    long third = bucket.reserve();
+
+    assertThat(first).isCloseTo(INTERVAL_NANOS, within(TOLERANCE_NANOS));
+    assertThat(second - first).isCloseTo(INTERVAL_NANOS, within(TOLERANCE_NANOS));
+    assertThat(third - second).isCloseTo(INTERVAL_NANOS, within(TOLERANCE_NANOS));
+  }
+
+  @Test
+  void refillsBurstAfterIdle() throws Exception {
+    TokenBucket bucket = new TokenBucket(100, 2);
+    bucket.reserve();
+    bucket.reserve();
+
+    // 2 interval(20ms) 이상 쉬면 burst 만큼 다시 즉시 사용 가능, 그 이상은 쌓이지 않음
+    Thread.sleep(50);
+    assertThat(bucket.reserve()).isLessThanOrEqualTo(0);
+    assertThat(bucket.reserve()).isLessThanOrEqualTo(0);
+    assertThat(bucket.reserve()).isPositive();
+  }
+
+  @Test
+  void acquireParksUntilReservedToken() {
+    TokenBucket bucket = new TokenBucket(20, 1);
+    assertThat(bucket.acquire()).isZero();
+
+    long started = System.nanoTime();
+    long waited = bucket.acquire();
+
+    assertThat(waited).isPositive();
+    assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(waited);
+  }
+
+  @Test
+  void rejectsInvalidSettings() {
+    assertThatThrownBy(() -> new TokenBucket(0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TokenBucket(10, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.messagesender.service.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+// segment 치환 결과가 기존 MessageTemplateEngine 의 정규식 치환과 같은지 비교
+class CompiledTemplateTest {
+
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-zA-Z0-9_]+)\\}");
+
+  private static final Map<String, String> VALUES = Map.of(
+      "name", "홍길동",
+      "amount", "47,000",
+      "month", "2025-01",
+      "dollar", "$1 \\n $name",
+      "braces", "{name}",
+      "empty", "",
+      "A_1", "x");
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "치환 없는 본문",
+      "{name}",
+      "{name}님 {month} 청구 금액은 {amount}원입니다.",
+      "{name}{amount}{month}",
+      "앞 {name}",
+      "{name} 뒤",
+      // 값 없음 -> 빈 문자열
+      "{unknown} / {empty} / {A_1}",
+      // 값에 들어 있는 $, \, { } 는 그대로 출력 (재치환 없음)
+      "{dollar} {braces}",
+      // placeholder 가 아닌 중괄호
+      "{} { name } {name {na-me} {이름} name}",
+      "{{name}} {name}} {{name}",
+      "{a{name}",
+      "{name",
+      "}{",
+      "{",
+      "{{{{",
+      "줄바꿈\n{name}\r\n{amount}\t탭"
+  })
+  void matchesRegexRendering(String text) {
+    assertThat(CompiledTemplate.compile(text).render(VALUES)).isEqualTo(baseline(text, VALUES));
+  }
+
+  @Test
+  void listsPlaceholdersInOrderWithoutDuplicates() {
+    CompiledTemplate template = CompiledTemplate.compile("{b} {a} {b} {not valid} {c}");
+
+    assertThat(template.placeholders()).containsExactly("b", "a", "c");
+  }
+
+  @Test
+  void engineRecompilesWhenTemplateChanges() {
+    MessageTemplateEngine engine = new MessageTemplateEngine();
+
+    RenderedMessage first = engine.render(1L, "{name}", "본문 {amount}", VALUES);
+    RenderedMessage changed = engine.render(1L, "{month}", "본문 {amount}", VALUES);
+    RenderedMessage noTitle = engine.render(2L, null, "{name}", VALUES);
+
+    assertThat(first.getTitle()).isEqualTo("홍길동");
+    assertThat(first.getBody()).isEqualTo("본문 47,000");
+    assertThat(changed.getTitle()).isEqualTo("2025-01");
+    assertThat(noTitle.getTitle()).isNull();
+    assertThat(noTitle.getBody()).isEqualTo("홍길동");
+  }
+
+  // 정규식 치환 (segment 치환 도입 전 MessageTemplateEngine.replace 그대로)
+  private static String baseline(String text, Map<String, String> values) {
+    Matcher m = PLACEHOLDER.matcher(text);
+    StringBuffer sb = new StringBuffer();
+
+    while (m.find()) {
+      String key = m.group(1);
+      String val = values.getOrDefault(key, "");
+      m.appendReplacement(sb, Matcher.quoteReplacement(val));
+    }
+
+    m.appendTail(sb);
+    return sb.toString();
+  }
+}
@@ -0,0 +1,171 @@
+package com.example.messagesender.service.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+// 스트리밍 합산 결과가 기존 TemplateValueResolver 의 readTree/firstNonNull/readLong 합산과 같은지 비교
+class DetailJsonAggregatorTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final DetailJsonAggregator aggregator = DetailJsonAggregator.uncached(objectMapper);
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      // ARRAY: 항목별 합산
+      "[{\"chargedPrice\": 1000, \"contractDiscountPrice\": 100,"
+          + " \"bundledDiscountPrice\": 10, \"premierDiscountPrice\": 1},"
+          + " {\"chargedPrice\": 2000, \"contractDiscountPrice\": 200,"
+          + " \"BundledDiscountPrice\": 20, \"PremierDiscountPrice\": 2}]",
+      "[]",
+      // 필드 누락 / JSON null / 별칭 우선순위 (소문자 키가 null 이면 대문자 키)
+      "[{\"chargedPrice\": 1000}, {\"contractDiscountPrice\": 300}, {}]",
+      "[{\"chargedPrice\": null, \"bundledDiscountPrice\": null, \"BundledDiscountPrice\": 7}]",
+      "[{\"bundledDiscountPrice\": 5, \"BundledDiscountPrice\": 7}]",
+      // ARRAY 항목에는 ContractDiscountPrice 별칭이 없음
+      "[{\"ContractDiscountPrice\": 300, \"usageAmount\": 9, \"totalPrice\": 9}]",
+      // 문자열 숫자 / 쉼표 / 공백 / 숫자가 아닌 문자열 / 소수 문자열
+      "[{\"chargedPrice\": \"47,000\", \"contractDiscountPrice\": \" 1,200 \","
+          + " \"bundledDiscountPrice\": \"abc\", \"premierDiscountPrice\": \"12.5\"}]",
+      "[{\"chargedPrice\": \"\", \"contractDiscountPrice\": \"   \"}]",
+      // 소수 / 큰 정수 / 음수
+      "[{\"chargedPrice\": 1234.9, \"contractDiscountPrice\": -50}]",
+      "[{\"chargedPrice\": 123456789012345678901234567890}]",
+      "[{\"chargedPrice\": 1e20}]",
+      // boolean / 중첩 객체·배열 값은 0 (별칭으로 넘어가지 않음)
+      "[{\"chargedPrice\": true, \"bundledDiscountPrice\": {\"a\": 1},"
+          + " \"BundledDiscountPrice\": 5, \"premierDiscountPrice\": [1, 2]}]",
+      // 관심 없는 중첩 값 안의 같은 이름 키는 무시
+      "[{\"sub\": {\"chargedPrice\": 999, \"list\": [{\"chargedPrice\": 1}]},"
+          + " \"chargedPrice\": 10}]",
+      // 객체가 아닌 항목 / 중첩 배열 항목은 합산 대상 아님
+      "[1, \"x\", null, [{\"chargedPrice\": 100}], {\"chargedPrice\": 5}]",
+      // 중복 키는 마지막 값
+      "[{\"chargedPrice\": 1, \"chargedPrice\": 2}]",
+      "[{\"chargedPrice\": 1, \"chargedPrice\": null}]",
+      // OBJECT: usageAmount -> totalPrice -> chargedPrice 순서
+      "{\"usageAmount\": 5000, \"totalPrice\": 4000, \"chargedPrice\": 3000}",
+      "{\"usageAmount\": null, \"totalPrice\": 4000, \"chargedPrice\": 3000}",
+      "{\"chargedPrice\": \"3,000\"}",
+      "{\"ContractDiscountPrice\": 100, \"BundledDiscountPrice\": \"20\","
+          + " \"PremierDiscountPrice\": 3}",
+      "{\"contractDiscountPrice\": 1, \"ContractDiscountPrice\": 100}",
+      "{\"usageAmount\": {\"value\": 1}, \"totalPrice\": 4000}",
+      "{\"items\": [{\"chargedPrice\": 100}], \"meta\": {\"usageAmount\": 1}}",
+      "{}",
+      // 배열/객체가 아닌 root 는 0
+      "123",
+      "\"47,000\"",
+      "null",
+      "true"
+  })
+  void matchesTreeBasedAggregation(String detailJson) throws Exception {
+    DetailAggregate expected = baseline(detailJson);
+    DetailAggregate actual = aggregator.aggregate(detailJson);
+
+    assertThat(actual.getUsageAmount()).isEqualTo(expected.getUsageAmount());
+    assertThat(actual.getContractDiscount()).isEqualTo(expected.getContractDiscount());
+    assertThat(actual.getBundledDiscount()).isEqualTo(expected.getBundledDiscount());
+    assertThat(actual.getPremierDiscount()).isEqualTo(expected.getPremierDiscount());
+    assertThat(actual.getDiscountAmount()).isEqualTo(expected.getDiscountAmount());
+  }
+
+  @Test
+  void sumsArrayItems() throws Exception {
+    DetailAggregate aggregate = aggregator.aggregate(
+        "[{\"chargedPrice\": \"47,000\", \"contractDiscountPrice\": 1000},"
+            + " {\"chargedPrice\": 3000, \"PremierDiscountPrice\": 500}]");
+
+    assertThat(aggregate.getUsageAmount()).isEqualTo(50_000L);
+    assertThat(aggregate.getContractDiscount()).isEqualTo(1_000L);
+    assertThat(aggregate.getPremierDiscount()).isEqualTo(500L);
+    assertThat(aggregate.getDiscountAmount()).isEqualTo(1_500L);
+  }
+
+  @Test
+  void cachesBySettlementIdAndContent() throws Exception {
+    DetailJsonAggregator cached = new DetailJsonAggregator(objectMapper, 10, 60);
+
+    DetailAggregate first = cached.aggregate(1L, "{\"usageAmount\": 100}");
+    DetailAggregate again = cached.aggregate(1L, "{\"usageAmount\": 100}");
+    DetailAggregate other = cached.aggregate(2L, "{\"usageAmount\": 200}");
+
+    assertThat(again).isSameAs(first);
+    assertThat(other.getUsageAmount()).isEqualTo(200L);
+  }
+
+  @Test
+  void recomputesWhenSettlementDetailChanges() throws Exception {
+    DetailJsonAggregator cached = new DetailJsonAggregator(objectMapper, 10, 60);
+
+    cached.aggregate(1L, "{\"usageAmount\": 100}");
+    // 같은 정산서가 재계산되어 detail_json 이 바뀌면 TTL 안이어도 새 값
+    assertThat(cached.aggregate(1L, "{\"usageAmount\": 200}").getUsageAmount())
+        .isEqualTo(200L);
+
+    // 해시가 같은 다른 내용("Aa"/"BB")도 캐시된 결과를 쓰지 않음
+    DetailAggregate aa = cached.aggregate(3L, "{\"Aa\": 1, \"usageAmount\": 300}");
+    DetailAggregate bb = cached.aggregate(3L, "{\"BB\": 1, \"usageAmount\": 300}");
+    assertThat(bb).isNotSameAs(aa);
+  }
+
+  // 스트리밍 도입 전 TemplateValueResolver 의 합산 로직 그대로
+  private DetailAggregate baseline(String detailJson) throws Exception {
+    JsonNode root = objectMapper.readTree(detailJson);
+
+    long usageAmount = 0L;
+    long contract = 0L;
+    long bundled = 0L;
+    long premier = 0L;
+
+    if (root.isArray()) {
+      for (JsonNode item : root) {
+        usageAmount += readLong(item.get("chargedPrice"));
+        contract += readLong(item.get("contractDiscountPrice"));
+        bundled += readLong(firstNonNull(item, "bundledDiscountPrice", "BundledDiscountPrice"));
+        premier += readLong(firstNonNull(item, "premierDiscountPrice", "PremierDiscountPrice"));
+      }
+    } else if (root.isObject()) {
+      usageAmount = readLong(firstNonNull(root, "usageAmount", "totalPrice", "chargedPrice"));
+      contract = readLong(firstNonNull(root, "contractDiscountPrice", "ContractDiscountPrice"));
+      bundled = readLong(firstNonNull(root, "bundledDiscountPrice", "BundledDiscountPrice"));
+      premier = readLong(firstNonNull(root, "premierDiscountPrice", "PremierDiscountPrice"));
+    }
+    return new DetailAggregate(usageAmount, contract, bundled, premier);
+  }
+
+  private static JsonNode firstNonNull(JsonNode node, String... keys) {
+    if (node == null)
+      return null;
+    for (String k : keys) {
+      JsonNode v = node.get(k);
+      if (v != null && !v.isNull() && !v.isMissingNode())
+        return v;
+    }
+    return null;
+  }
+
+  private static long readLong(JsonNode node) {
+    if (node == null || node.isMissingNode() || node.isNull())
+      return 0L;
+
+    if (node.isNumber())
+      return node.asLong();
+
+    if (node.isTextual()) {
+      String s = node.asText().replace(",", "").trim();
+      if (s.isBlank())
+        return 0L;
+      try {
+        return Long.parseLong(s);
+      } catch (Exception e) {
+        return 0L;
+      }
+    }
+    return 0L;
+  }
+}
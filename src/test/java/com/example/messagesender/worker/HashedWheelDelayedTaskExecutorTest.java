@@ -0,0 +1,158 @@
+package com.example.messagesender.worker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// 실제 시계 기준이므로 "지연보다 일찍 실행되지 않음" 은 정확히, 늦게 실행되는 상한은 넉넉하게 검증
+class HashedWheelDelayedTaskExecutorTest {
+
+  private HashedWheelDelayedTaskExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void roundsUpToTickAndNeverRunsEarly() throws Exception {
+    executor = new HashedWheelDelayedTaskExecutor("test-", 20, 8, 1, 10, 1000);
+    CountDownLatch done = new CountDownLatch(1);
+    AtomicLong elapsed = new AtomicLong();
+
+    long scheduled = System.nanoTime();
+    // 30ms = 1.5 tick -> 2 tick 째 bucket
+    executor.schedule(() -> {
+      elapsed.set(System.nanoTime() - scheduled);
+      done.countDown();
+    }, 30, TimeUnit.MILLISECONDS);
+
+    assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(elapsed.get()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  @Test
+  void keepsTaskLongerThanOneRotation() throws Exception {
+    // 4 bucket * 10ms = 한 바퀴 40ms
+    executor = new HashedWheelDelayedTaskExecutor("test-", 10, 4, 1, 10, 1000);
+    CountDownLatch done = new CountDownLatch(1);
+    AtomicLong elapsed = new AtomicLong();
+
+    long scheduled = System.nanoTime();
+    executor.schedule(() -> {
+      elapsed.set(System.nanoTime() - scheduled);
+      done.countDown();
+    }, 100, TimeUnit.MILLISECONDS);
+
+    // 같은 bucket 을 두 번 지나도 실행되지 않음
+    assertThat(done.await(60, TimeUnit.MILLISECONDS)).isFalse();
+    assertThat(executor.pendingCount()).isEqualTo(1);
+
+    assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(elapsed.get()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  void runsAllTasksExpiredInSameTickInChunks() throws Exception {
+    executor = new HashedWheelDelayedTaskExecutor("test-", 10, 8, 2, 3, 1000);
+    int count = 10;
+    CountDownLatch done = new CountDownLatch(count);
+
+    for (int i = 0; i < count; i++) {
+      executor.schedule(done::countDown, 20, TimeUnit.MILLISECONDS);
+    }
+
+    assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  @Test
+  void runsBatchableTasksExpiredInSameTickAsOneBatch() throws Exception {
+    executor = new HashedWheelDelayedTaskExecutor("test-", 10, 8, 1, 100, 1000);
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    AtomicInteger single = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(1);
+    BatchableTask.BatchHandler handler = tasks -> {
+      batchSizes.add(tasks.size());
+      done.countDown();
+    };
+
+    // 같은 deadline -> 같은 tick 에 만료, run() 은 호출되지 않아야 함
+    long delay = 30;
+    for (int i = 0; i < 5; i++) {
+      executor.schedule(new BatchableTask() {
+        @Override
+        public void run() {
+          single.incrementAndGet();
+        }
+
+        @Override
+        public BatchHandler batchHandler() {
+          return handler;
+        }
+      }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    // 등록이 tick 경계에 걸치면 최대 두 묶음
+    assertThat(batchSizes).hasSizeLessThanOrEqualTo(2);
+    assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(5);
+    assertThat(single.get()).isZero();
+  }
+
+  @Test
+  void shutdownDrainsAndWaitsForRunningTasks() {
+    executor = new HashedWheelDelayedTaskExecutor("test-", 10, 8, 1, 10, 1000);
+    AtomicInteger ran = new AtomicInteger();
+
+    for (int i = 0; i < 5; i++) {
+      executor.schedule(() -> {
+        sleep(20);
+        ran.incrementAndGet();
+      }, 50, TimeUnit.MILLISECONDS);
+    }
+    executor.shutdown();
+
+    assertThat(ran.get()).isEqualTo(5);
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  @Test
+  void rejectsScheduleAfterShutdown() {
+    executor = new HashedWheelDelayedTaskExecutor("test-", 10, 8, 1, 10, 1000);
+    executor.shutdown();
+
+    assertThatThrownBy(() -> executor.schedule(() -> { }, 10, TimeUnit.MILLISECONDS))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  @Test
+  void rejectsInvalidSettings() {
+    assertThatThrownBy(() -> new HashedWheelDelayedTaskExecutor("test-", 0, 8, 1, 10, 1000))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new HashedWheelDelayedTaskExecutor("test-", 10, 8, 1, 0, 1000))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.messagesender.worker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.messagesender.worker.LaneScheduler.Budget;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+// 제출된 작업을 바로 실행하지 않고 쌓아두는 executor 로 선택 순서/동시 실행 수를 결정적으로 검증
+class LaneSchedulerTest {
+
+  @Test
+  void picksLanesBySmoothWeightedRoundRobin() {
+    ManualExecutor executor = new ManualExecutor();
+    LaneScheduler scheduler = new LaneScheduler(executor, 1, Map.of(
+        MessageLane.BILLING, new Budget(5, 1),
+        MessageLane.RETRY, new Budget(1, 1),
+        MessageLane.NOTICE, new Budget(2, 1)));
+    List<MessageLane> order = new ArrayList<>();
+
+    // 첫 작업이 슬롯을 잡고 있는 동안 lane 별로 대기열을 채움
+    scheduler.submit(MessageLane.BILLING, () -> { });
+    for (int i = 0; i < 8; i++) {
+      for (MessageLane lane : MessageLane.values()) {
+        scheduler.submit(lane, () -> order.add(lane));
+      }
+    }
+    assertThat(executor.submitted()).isEqualTo(1);
+
+    executor.runNext();
+
+    // 가중치 5:1:2 -> 8회 중 BILLING 5, RETRY 1, NOTICE 2 (몰리지 않고 섞임)
+    assertThat(order.subList(0, 8)).containsExactly(
+        MessageLane.BILLING, MessageLane.NOTICE, MessageLane.BILLING, MessageLane.BILLING,
+        MessageLane.RETRY, MessageLane.BILLING, MessageLane.NOTICE, MessageLane.BILLING);
+    // 대기 작업은 모두 같은 worker 스레드에서 이어서 실행
+    assertThat(order).hasSize(24);
+    assertThat(executor.submitted()).isZero();
+  }
+
+  @Test
+  void limitsConcurrencyPerLane() {
+    ManualExecutor executor = new ManualExecutor();
+    LaneScheduler scheduler = new LaneScheduler(executor, 3, Map.of(
+        MessageLane.BILLING, new Budget(1, 3),
+        MessageLane.RETRY, new Budget(1, 1)));
+
+    for (int i = 0; i < 3; i++) {
+      scheduler.submit(MessageLane.RETRY, () -> { });
+    }
+    assertThat(scheduler.runningCount(MessageLane.RETRY)).isEqualTo(1);
+    assertThat(scheduler.queuedCount(MessageLane.RETRY)).isEqualTo(2);
+
+    // RETRY 한도와 무관하게 남은 슬롯은 다른 lane 이 사용
+    scheduler.submit(MessageLane.BILLING, () -> { });
+    scheduler.submit(MessageLane.BILLING, () -> { });
+    scheduler.submit(MessageLane.BILLING, () -> { });
+    assertThat(scheduler.runningCount(MessageLane.BILLING)).isEqualTo(2);
+    assertThat(scheduler.queuedCount(MessageLane.BILLING)).isEqualTo(1);
+    assertThat(executor.submitted()).isEqualTo(3);
+
+    while (executor.submitted() > 0) {
+      executor.runNext();
+    }
+    assertThat(scheduler.runningCount(MessageLane.RETRY)).isZero();
+    assertThat(scheduler.runningCount(MessageLane.BILLING)).isZero();
+    assertThat(scheduler.queuedCount(MessageLane.RETRY)).isZero();
+    assertThat(scheduler.queuedCount(MessageLane.BILLING)).isZero();
+  }
+
+  @Test
+  void usesAllSlotsWhenOtherLanesAreEmpty() {
+    ManualExecutor executor = new ManualExecutor();
+    LaneScheduler scheduler = new LaneScheduler(executor, 4, Map.of(
+        MessageLane.BILLING, new Budget(1, 4),
+        MessageLane.NOTICE, new Budget(10, 4)));
+
+    for (int i = 0; i < 6; i++) {
+      scheduler.submit(MessageLane.BILLING, () -> { });
+    }
+
+    assertThat(scheduler.runningCount(MessageLane.BILLING)).isEqualTo(4);
+    assertThat(executor.submitted()).isEqualTo(4);
+  }
+
+  @Test
+  void rejectsNonPositiveMaxRunning() {
+    assertThatThrownBy(() -> new LaneScheduler(new ManualExecutor(), 0, Map.of()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static final class ManualExecutor extends AbstractExecutorService {
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    int submitted() {
+      return tasks.size();
+    }
+
+    void runNext() {
+      tasks.poll().run();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.messagesender.worker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadDelayedTaskExecutorTest {
+
+  @Test
+  void runsTaskAfterDelay() throws Exception {
+    VirtualThreadDelayedTaskExecutor executor =
+        new VirtualThreadDelayedTaskExecutor("test-v-", 1000);
+    CountDownLatch done = new CountDownLatch(1);
+
+    executor.schedule(done::countDown, 20, TimeUnit.MILLISECONDS);
+
+    assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  @Test
+  void shutdownWaitsForPendingAndRunningTasks() {
+    VirtualThreadDelayedTaskExecutor executor =
+        new VirtualThreadDelayedTaskExecutor("test-v-", 1000);
+    AtomicInteger ran = new AtomicInteger();
+
+    for (int i = 0; i < 5; i++) {
+      executor.schedule(() -> {
+        sleep(20);
+        ran.incrementAndGet();
+      }, 50, TimeUnit.MILLISECONDS);
+    }
+    executor.shutdown();
+
+    assertThat(ran.get()).isEqualTo(5);
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  @Test
+  void shutdownGivesUpAfterDrainTimeout() {
+    VirtualThreadDelayedTaskExecutor executor =
+        new VirtualThreadDelayedTaskExecutor("test-v-", 50);
+    AtomicInteger ran = new AtomicInteger();
+    executor.schedule(ran::incrementAndGet, 10, TimeUnit.SECONDS);
+
+    long started = System.nanoTime();
+    executor.shutdown();
+
+    assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    assertThat(ran.get()).isZero();
+    assertThat(executor.pendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsScheduleAfterShutdown() {
+    VirtualThreadDelayedTaskExecutor executor =
+        new VirtualThreadDelayedTaskExecutor("test-v-", 1000);
+    executor.shutdown();
+
+    assertThatThrownBy(() -> executor.schedule(() -> { }, 10, TimeUnit.MILLISECONDS))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(executor.pendingCount()).isZero();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
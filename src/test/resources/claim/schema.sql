@@ -0,0 +1,13 @@
+-- 선점/확정 UPDATE 검증용 최소 스키마 (H2 MySQL 모드, 연관 테이블은 FK 컬럼만 사용)
+CREATE TABLE message_send_results (
+  id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+  reserved_send_id BIGINT    NOT NULL,
+  user_id          BIGINT    NOT NULL,
+  channel_id       BIGINT    NOT NULL,
+  template_id      BIGINT    NOT NULL,
+  status_id        BIGINT    NOT NULL,
+  requested_at     TIMESTAMP NOT NULL,
+  processed_at     TIMESTAMP,
+  claimed_at       TIMESTAMP(3),
+  retry_count      INT       NOT NULL
+);